@@ -0,0 +1,107 @@
+package com.mshrestha.goze.benchmark;
+
+import com.mshrestha.goze.dto.api.ApiResponse;
+import com.mshrestha.goze.dto.dashboard.GetAllTransactionsResponse;
+import com.mshrestha.goze.model.Transaction;
+import com.mshrestha.goze.repository.TransactionColumns;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Deterministic synthetic transactions shaped like synced Plaid data: two years of history,
+ * a few hundred merchants, a dozen categories, a handful of accounts and location and
+ * payment-meta JSON on every row
+ */
+final class BenchmarkData {
+
+    static final LocalDate END = LocalDate.of(2026, 6, 30);
+
+    private static final String[] CATEGORIES = {
+        "FOOD_AND_DRINK", "GENERAL_MERCHANDISE", "TRANSPORTATION", "TRAVEL", "RENT_AND_UTILITIES",
+        "ENTERTAINMENT", "PERSONAL_CARE", "MEDICAL", "GENERAL_SERVICES", "LOAN_PAYMENTS", "INCOME", "TRANSFER_OUT"
+    };
+
+    private BenchmarkData() {
+    }
+
+    static List<Transaction> transactions(int count) {
+        Random random = new Random(42);
+        UUID userId = UUID.nameUUIDFromBytes("benchmark".getBytes());
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setId(new UUID(random.nextLong(), random.nextLong()));
+            transaction.setUserId(userId);
+            transaction.setAccountId("account-" + random.nextInt(5));
+            transaction.setPlaidTransactionId("plaid-" + i);
+            transaction.setAmount(BigDecimal.valueOf(random.nextInt(20) == 0
+                ? 50_000 + random.nextInt(400_000)
+                : -(100 + random.nextInt(25_000)), 2));
+            transaction.setDate(END.minusDays(random.nextInt(730)));
+            String merchant = "Merchant " + random.nextInt(400);
+            transaction.setName(merchant.toUpperCase() + " #" + random.nextInt(9999));
+            transaction.setMerchantName(random.nextInt(10) == 0 ? null : merchant);
+            transaction.setPending(random.nextInt(50) == 0);
+            transaction.setPlaidCategory(random.nextInt(30) == 0 ? null : CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            transaction.setLocation("{\"address\":null,\"city\":\"Springfield\",\"region\":\"IL\",\"postal_code\":\"62701\"," +
+                "\"country\":\"US\",\"lat\":39.78,\"lon\":-89.65,\"store_number\":\"" + random.nextInt(900) + "\"}");
+            transaction.setPaymentMeta("{\"by_order_of\":null,\"payee\":null,\"payer\":null,\"payment_method\":null," +
+                "\"payment_processor\":null,\"ppd_id\":null,\"reason\":null,\"reference_number\":null}");
+            transaction.setExcludedFromBudget(random.nextInt(25) == 0);
+            transaction.setCreatedAt(LocalDateTime.of(END, LocalTime.NOON));
+            transaction.setUpdatedAt(LocalDateTime.of(END, LocalTime.NOON));
+            transactions.add(transaction);
+        }
+        return transactions;
+    }
+
+    /**
+     * The same rows as the projection query in TransactionRepositoryCustomImpl.loadColumns yields them
+     */
+    static TransactionColumns columns(List<Transaction> transactions) {
+        TransactionColumns.Builder builder = new TransactionColumns.Builder();
+        for (Transaction transaction : transactions) {
+            builder.add(transaction.getAmount().movePointRight(2).longValueExact(),
+                (int) transaction.getDate().toEpochDay(),
+                Boolean.TRUE.equals(transaction.getPending()),
+                Boolean.TRUE.equals(transaction.getExcludedFromBudget()),
+                transaction.getPlaidCategory(),
+                transaction.getMerchantName() != null ? transaction.getMerchantName() : transaction.getName(),
+                transaction.getAccountId());
+        }
+        return builder.build();
+    }
+
+    /**
+     * A successful /transactions/get response body over the given transactions, with every field selected
+     */
+    static ApiResponse<GetAllTransactionsResponse> transactionsResponse(List<Transaction> transactions) {
+        List<GetAllTransactionsResponse.TransactionDto> dtos = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            dtos.add(new GetAllTransactionsResponse.TransactionDto(
+                transaction.getAccountId(),
+                "Checking " + transaction.getAccountId().substring(transaction.getAccountId().length() - 1),
+                transaction.getPlaidTransactionId(),
+                transaction.getAmount(),
+                transaction.getDate().toString(),
+                transaction.getName(),
+                transaction.getMerchantName(),
+                transaction.getPending(),
+                transaction.getPlaidCategory(),
+                transaction.getLocation(),
+                transaction.getPaymentMeta(),
+                transaction.getNotes(),
+                transaction.getExcludedFromBudget(),
+                transaction.getCreatedAt().toString(),
+                transaction.getUpdatedAt().toString()));
+        }
+        return ApiResponse.success(new GetAllTransactionsResponse(dtos, dtos.size()));
+    }
+}
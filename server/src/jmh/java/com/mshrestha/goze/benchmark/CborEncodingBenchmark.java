@@ -0,0 +1,67 @@
+package com.mshrestha.goze.benchmark;
+
+import com.google.gson.Gson;
+import com.mshrestha.goze.config.GsonConfig;
+import com.mshrestha.goze.dto.api.ApiResponse;
+import com.mshrestha.goze.dto.dashboard.GetAllTransactionsResponse;
+import com.mshrestha.goze.utils.CborUtility;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding a dashboard transactions response to bytes as DashboardController.success does:
+ * compact JSON through the shared Gson, or CBOR through CborUtility.
+ *
+ * Encoded sizes of both formats are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CborEncodingBenchmark {
+
+    // A default page and a full unpaged listing
+    @Param({"50", "2000"})
+    private int transactions;
+
+    private Gson gson;
+    private CborUtility cborUtility;
+    private ApiResponse<GetAllTransactionsResponse> response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        gson = new GsonConfig().gson();
+        cborUtility = new CborUtility();
+        response = BenchmarkData.transactionsResponse(BenchmarkData.transactions(transactions));
+
+        int jsonBytes = gsonJson().length;
+        int cborBytes = cborUtility.toCbor(response).length;
+        System.out.printf("%n%d transactions encode to %,d bytes of JSON and %,d bytes of CBOR (%.0f%%)%n",
+            transactions, jsonBytes, cborBytes, 100.0 * cborBytes / jsonBytes);
+    }
+
+    @Benchmark
+    public byte[] gsonJson() {
+        return gson.toJson(response).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] cbor() {
+        return cborUtility.toCbor(response);
+    }
+}
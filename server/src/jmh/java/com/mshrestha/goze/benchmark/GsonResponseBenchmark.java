@@ -0,0 +1,74 @@
+package com.mshrestha.goze.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.mshrestha.goze.config.GsonConfig;
+import com.mshrestha.goze.dto.api.ApiResponse;
+import com.mshrestha.goze.dto.dashboard.GetAllTransactionsResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-response cost of serializing a dashboard response: building a pretty-printing Gson on
+ * every call (as GsonUtility.toPrettyJson used to), reusing the cached pretty instance it now
+ * keeps, and the cached compact instance responses use by default.
+ *
+ * Pretty and compact sizes are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GsonResponseBenchmark {
+
+    // A single-row response, where construction dominates, and a default page
+    @Param({"1", "50"})
+    private int transactions;
+
+    private Gson compactGson;
+    private Gson prettyGson;
+    private ApiResponse<GetAllTransactionsResponse> response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        compactGson = new GsonConfig().gson();
+        prettyGson = compactGson.newBuilder().setPrettyPrinting().serializeNulls().create();
+        response = BenchmarkData.transactionsResponse(BenchmarkData.transactions(transactions));
+
+        int prettyBytes = prettyGson.toJson(response).getBytes(StandardCharsets.UTF_8).length;
+        int compactBytes = compactGson.toJson(response).getBytes(StandardCharsets.UTF_8).length;
+        System.out.printf("%n%d transactions serialize to %,d bytes pretty and %,d bytes compact (%.0f%%)%n",
+            transactions, prettyBytes, compactBytes, 100.0 * compactBytes / prettyBytes);
+    }
+
+    @Benchmark
+    public String newPrettyGsonPerCall() {
+        Gson gson = new GsonBuilder().setPrettyPrinting().serializeNulls().create();
+        return gson.toJson(response);
+    }
+
+    @Benchmark
+    public String cachedPrettyGson() {
+        return prettyGson.toJson(response);
+    }
+
+    @Benchmark
+    public String cachedCompactGson() {
+        return compactGson.toJson(response);
+    }
+}
@@ -0,0 +1,113 @@
+package com.mshrestha.goze.benchmark;
+
+import com.mshrestha.goze.model.Transaction;
+import com.mshrestha.goze.repository.SpendingDimension;
+import com.mshrestha.goze.repository.TransactionColumns;
+import com.mshrestha.goze.repository.TransactionFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Spending by merchant and top merchants over a year of one user's transactions, computed by
+ * streaming the entity list (as the service used to) and from the columnar snapshot (as
+ * TransactionService.aggregateSpending does now).
+ *
+ * Retained sizes of both representations are printed once per trial; run with -prof gc to
+ * compare allocation per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionColumnsBenchmark {
+
+    private static final int TOP = 10;
+
+    @Param({"2000", "20000"})
+    private int transactions;
+
+    private List<Transaction> entities;
+    private TransactionColumns columns;
+    private TransactionFilter filter;
+
+    // Reused across invocations, as a caller that keeps its buffers would
+    private long[] totals;
+    private int[] counts;
+    private int[] top;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        entities = BenchmarkData.transactions(transactions);
+        columns = BenchmarkData.columns(entities);
+
+        filter = new TransactionFilter();
+        filter.setStartDate(BenchmarkData.END.minusYears(1));
+        filter.setEndDate(BenchmarkData.END);
+        filter.setExpensesOnly(true);
+        filter.setExcludedFromBudget(false);
+
+        int slots = columns.slots(SpendingDimension.MERCHANT);
+        totals = new long[slots];
+        counts = new int[slots];
+        top = new int[TOP];
+
+        System.out.printf("%n%d transactions retain %,d bytes as entities and %,d bytes as columns%n",
+            transactions, GraphLayout.parseInstance(entities).totalSize(), GraphLayout.parseInstance(columns).totalSize());
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> entitiesSpendingByMerchant() {
+        return spendingByMerchant();
+    }
+
+    @Benchmark
+    public long[] columnsSpendingByMerchant() {
+        columns.sumBy(columns.matcher(filter), SpendingDimension.MERCHANT, totals, counts);
+        return totals;
+    }
+
+    @Benchmark
+    public List<Map.Entry<String, BigDecimal>> entitiesTopMerchants() {
+        return spendingByMerchant().entrySet().stream()
+            .sorted(Comparator.comparing((Map.Entry<String, BigDecimal> entry) -> entry.getValue().abs()).reversed())
+            .limit(TOP)
+            .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public int[] columnsTopMerchants() {
+        columns.sumBy(columns.matcher(filter), SpendingDimension.MERCHANT, totals, counts);
+        TransactionColumns.topN(totals, counts, TOP, top);
+        return top;
+    }
+
+    private Map<String, BigDecimal> spendingByMerchant() {
+        return entities.stream()
+            .filter(tx -> !tx.getDate().isBefore(filter.getStartDate()) && !tx.getDate().isAfter(filter.getEndDate()))
+            .filter(tx -> tx.getAmount().signum() < 0)
+            .filter(tx -> !Boolean.TRUE.equals(tx.getExcludedFromBudget()))
+            .collect(Collectors.groupingBy(
+                tx -> tx.getMerchantName() != null ? tx.getMerchantName() : tx.getName(),
+                Collectors.reducing(BigDecimal.ZERO, Transaction::getAmount, BigDecimal::add)));
+    }
+}
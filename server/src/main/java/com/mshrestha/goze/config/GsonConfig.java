@@ -9,6 +9,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -16,15 +17,17 @@ import java.time.format.DateTimeFormatter;
  * Configuration class for Google Gson JSON serialization/deserialization.
  * 
  * This configuration provides a customized Gson instance with:
- * - Pretty printing for better readability
- * - Custom serializers/deserializers for LocalDateTime
- * - Null handling
+ * - Compact output (no whitespace, null fields omitted) for the wire format
+ * - Custom serializers/deserializers for LocalDateTime and LocalDate
  * - Date formatting
+ * 
+ * GsonUtility derives a cached pretty-printing variant from this instance for debugging.
  */
 @Configuration
 public class GsonConfig {
 
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
 
     /**
      * Creates and configures a Gson bean for JSON serialization/deserialization.
@@ -35,10 +38,10 @@ public class GsonConfig {
     @Primary
     public Gson gson() {
         return new GsonBuilder()
-                .setPrettyPrinting()
-                .serializeNulls()
                 .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeSerializer())
                 .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeDeserializer())
+                .registerTypeAdapter(LocalDate.class, new LocalDateSerializer())
+                .registerTypeAdapter(LocalDate.class, new LocalDateDeserializer())
                 .setDateFormat("yyyy-MM-dd'T'HH:mm:ss")
                 .create();
     }
@@ -62,4 +65,24 @@ public class GsonConfig {
             return LocalDateTime.parse(json.getAsString(), DATE_TIME_FORMATTER);
         }
     }
+
+    /**
+     * Custom serializer for LocalDate objects (yyyy-MM-dd).
+     */
+    private static class LocalDateSerializer implements JsonSerializer<LocalDate> {
+        @Override
+        public JsonPrimitive serialize(LocalDate localDate, java.lang.reflect.Type type, com.google.gson.JsonSerializationContext context) {
+            return new JsonPrimitive(localDate.format(DATE_FORMATTER));
+        }
+    }
+
+    /**
+     * Custom deserializer for LocalDate objects (yyyy-MM-dd).
+     */
+    private static class LocalDateDeserializer implements JsonDeserializer<LocalDate> {
+        @Override
+        public LocalDate deserialize(com.google.gson.JsonElement json, java.lang.reflect.Type type, com.google.gson.JsonDeserializationContext context) {
+            return LocalDate.parse(json.getAsString(), DATE_FORMATTER);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.mshrestha.goze.config;
+
+import java.util.UUID;
+
+/**
+ * The user whose data the current thread is reading, for read-your-writes replica routing.
+ * 
+ * Controllers bind the authenticated user; ReadRoutingContextFilter clears it when the request
+ * ends. Executors that run request work on other threads propagate it with {@link #propagate}.
+ */
+public final class ReadRoutingContext {
+    
+    private static final ThreadLocal<UUID> CURRENT_USER = new ThreadLocal<>();
+    
+    private ReadRoutingContext() {
+    }
+    
+    public static void bindUser(UUID userId) {
+        CURRENT_USER.set(userId);
+    }
+    
+    public static UUID currentUser() {
+        return CURRENT_USER.get();
+    }
+    
+    public static void clear() {
+        CURRENT_USER.remove();
+    }
+    
+    /**
+     * TaskDecorator that carries the submitting thread's user over to the task
+     */
+    public static Runnable propagate(Runnable task) {
+        UUID userId = CURRENT_USER.get();
+        return () -> {
+            UUID previous = CURRENT_USER.get();
+            CURRENT_USER.set(userId);
+            try {
+                task.run();
+            } finally {
+                if (previous != null) {
+                    CURRENT_USER.set(previous);
+                } else {
+                    CURRENT_USER.remove();
+                }
+            }
+        };
+    }
+}
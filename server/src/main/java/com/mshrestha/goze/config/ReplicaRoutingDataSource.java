@@ -0,0 +1,129 @@
+package com.mshrestha.goze.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mshrestha.goze.service.UserDataChangedEvent;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes read-only transactions to replica pools and everything else to the primary.
+ * 
+ * A read-only transaction goes to the primary instead when no replica is within the lag limit,
+ * or when the user bound in ReadRoutingContext changed data within the read-your-writes window.
+ * Lag is measured periodically on each replica; the window should cover the lag limit plus
+ * the check interval, so a user never reads a replica that has not yet applied their change.
+ * Must sit behind a LazyConnectionDataSourceProxy so the routing key is resolved after the
+ * transaction's read-only flag is set.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    
+    private static final String PRIMARY = "primary";
+    
+    // Zero when the replica has replayed everything it received, so an idle primary does not read as lag
+    private static final String LAG_QUERY =
+        "SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+        "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+    
+    private final Map<String, HikariDataSource> replicas;
+    private final Duration maxLag;
+    private final Cache<UUID, Boolean> recentWriters;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    
+    // Replaced wholesale by each lag check
+    private volatile List<String> healthyReplicas = List.of();
+    
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, HikariDataSource> replicas,
+                                    Duration maxLag, Duration readYourWritesWindow) {
+        this.replicas = replicas;
+        this.maxLag = maxLag;
+        this.recentWriters = Caffeine.newBuilder()
+            .expireAfterWrite(readYourWritesWindow)
+            .build();
+        
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+    
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        checkReplicaLag();
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        UUID userId = ReadRoutingContext.currentUser();
+        if (userId != null && recentWriters.getIfPresent(userId) != null) {
+            return PRIMARY;
+        }
+        List<String> healthy = healthyReplicas;
+        if (healthy.isEmpty()) {
+            return PRIMARY;
+        }
+        return healthy.get(Math.floorMod(nextReplica.getAndIncrement(), healthy.size()));
+    }
+    
+    /**
+     * Send the user's reads to the primary for the read-your-writes window once their change commits
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        recentWriters.put(event.userId(), Boolean.TRUE);
+    }
+    
+    /**
+     * Measure each replica's replay lag and keep only those within the limit in rotation
+     */
+    @Scheduled(fixedDelayString = "${datasource.replicas.lag-check-interval-ms:5000}")
+    public void checkReplicaLag() {
+        List<String> healthy = new ArrayList<>(replicas.size());
+        replicas.forEach((name, replica) -> {
+            try {
+                Double lagSeconds = new JdbcTemplate(replica).queryForObject(LAG_QUERY, Double.class);
+                if (lagSeconds != null && lagSeconds * 1000 <= maxLag.toMillis()) {
+                    healthy.add(name);
+                } else {
+                    logger.warn("Replica {} is {} s behind, routing its reads to the primary", name, lagSeconds);
+                }
+            } catch (Exception e) {
+                logger.warn("Replica {} is unreachable, routing its reads to the primary: {}", name, e.getMessage());
+            }
+        });
+        
+        if (!healthy.equals(healthyReplicas)) {
+            logger.info("Replicas in rotation: {}", healthy);
+        }
+        healthyReplicas = List.copyOf(healthy);
+    }
+    
+    /**
+     * Close the replica pools; the primary pool is a bean of its own
+     */
+    public void close() {
+        replicas.values().forEach(HikariDataSource::close);
+    }
+}
@@ -1,7 +1,11 @@
 package com.mshrestha.goze.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 /**
  * Configuration class to enable Spring's scheduling capabilities.
@@ -10,6 +14,71 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 @Configuration
 @EnableScheduling
 public class SchedulerConfig {
-    // Configuration is handled by @EnableScheduling annotation
-    // Additional scheduler configuration can be added here if needed
-}
\ No newline at end of file
+
+    /**
+     * Executor for the fetch stage of the transaction sync pipeline: one virtual thread per
+     * item sync, which spends its time waiting on Plaid and ends with that sync. The sweep syncs
+     * items one at a time, so there is no pool to size.
+     *
+     * @return SimpleAsyncTaskExecutor
+     */
+    @Bean(name = "syncFetchExecutor")
+    public SimpleAsyncTaskExecutor syncFetchExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("sync-fetch-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    /**
+     * Executor for the scheduled balance refresh; one thread per item in a batch.
+     *
+     * @param batchSize Number of items refreshed concurrently
+     * @return ThreadPoolTaskExecutor
+     */
+    @Bean(name = "balanceRefreshExecutor")
+    public ThreadPoolTaskExecutor balanceRefreshExecutor(@Value("${sync.balance-refresh.batch-size:8}") int batchSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(batchSize);
+        executor.setMaxPoolSize(batchSize);
+        executor.setThreadNamePrefix("balance-refresh-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Executor for the independent queries behind the dashboard bootstrap endpoint.
+     * Each query holds its own connection, so this also bounds the connections one burst of
+     * bootstraps can take from the pool.
+     *
+     * @param queryThreads Maximum number of bootstrap queries running concurrently
+     * @param queueCapacity Queries that may wait for a thread; beyond this submissions are rejected
+     * @return ThreadPoolTaskExecutor
+     */
+    @Bean(name = "dashboardQueryExecutor")
+    public ThreadPoolTaskExecutor dashboardQueryExecutor(@Value("${dashboard.bootstrap.query-threads:6}") int queryThreads,
+                                                         @Value("${dashboard.bootstrap.queue-capacity:60}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(queryThreads);
+        executor.setMaxPoolSize(queryThreads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("dashboard-query-");
+        executor.setTaskDecorator(ReadRoutingContext::propagate);
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Executor that writes server-sent events, one virtual thread per send, so a client with
+     * a full socket buffer blocks only its own write.
+     *
+     * @return SimpleAsyncTaskExecutor
+     */
+    @Bean(name = "sseEventExecutor")
+    public SimpleAsyncTaskExecutor sseEventExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("sse-event-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+}
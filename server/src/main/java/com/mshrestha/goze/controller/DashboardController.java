@@ -1,30 +1,76 @@
 package com.mshrestha.goze.controller;
 
+import com.mshrestha.goze.config.ReadRoutingContext;
 import com.mshrestha.goze.dto.api.ApiResponse;
+import com.mshrestha.goze.dto.dashboard.DashboardBootstrapRequest;
+import com.mshrestha.goze.dto.dashboard.DashboardBootstrapResponse;
 import com.mshrestha.goze.dto.dashboard.GetAllAccountsRequest;
 import com.mshrestha.goze.dto.dashboard.GetAllAccountsResponse;
 import com.mshrestha.goze.dto.dashboard.GetAllTransactionsRequest;
 import com.mshrestha.goze.dto.dashboard.GetAllTransactionsResponse;
 import com.mshrestha.goze.dto.dashboard.GetExpenseTransactionsRequest;
 import com.mshrestha.goze.dto.dashboard.GetExpenseTransactionsResponse;
+import com.mshrestha.goze.dto.dashboard.GetTransactionChangesRequest;
+import com.mshrestha.goze.dto.dashboard.GetTransactionChangesResponse;
+import com.mshrestha.goze.dto.dashboard.GetTransactionsPageRequest;
+import com.mshrestha.goze.dto.dashboard.GetTransactionsPageResponse;
+import com.mshrestha.goze.dto.dashboard.QueryTransactionsRequest;
+import com.mshrestha.goze.dto.dashboard.SearchTransactionsRequest;
+import com.mshrestha.goze.dto.dashboard.SearchTransactionsResponse;
 import com.mshrestha.goze.model.Account;
-import com.mshrestha.goze.model.Transaction;
 import com.mshrestha.goze.model.User;
+import com.mshrestha.goze.repository.SpendingAggregate;
+import com.mshrestha.goze.repository.SpendingDimension;
+import com.mshrestha.goze.repository.TransactionField;
+import com.mshrestha.goze.repository.TransactionFilter;
+import com.mshrestha.goze.repository.TransactionRow;
 import com.mshrestha.goze.repository.UserRepository;
 import com.mshrestha.goze.service.AccountService;
+import com.mshrestha.goze.service.TransactionChanges;
 import com.mshrestha.goze.service.TransactionService;
+import com.mshrestha.goze.service.UserDataCache;
 import com.mshrestha.goze.security.JwtTokenUtil;
+import com.mshrestha.goze.utils.CborUtility;
 import com.mshrestha.goze.utils.GsonUtility;
 import com.mshrestha.goze.utils.GozeHttpUtility;
+import com.mshrestha.goze.utils.TransactionPageCursor;
+import com.google.gson.stream.JsonWriter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 @RestController
@@ -32,6 +78,9 @@ import java.util.stream.Collectors;
 public class DashboardController {
     private static final Logger logger = LoggerFactory.getLogger(DashboardController.class);
     
+    // Transactions written between flushes of a streamed export
+    private static final int EXPORT_FLUSH_INTERVAL = 500;
+    
     @Autowired
     private TransactionService transactionService;
     
@@ -44,44 +93,208 @@ public class DashboardController {
     @Autowired
     private GsonUtility gsonUtility;
     
+    @Autowired
+    private CborUtility cborUtility;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private UserDataCache userDataCache;
+    
+    @Autowired
+    @Qualifier("dashboardQueryExecutor")
+    private ThreadPoolTaskExecutor dashboardQueryExecutor;
+    
+    @Value("${dashboard.transactions.default-page-size:100}")
+    private int defaultPageSize;
+    
+    @Value("${dashboard.transactions.max-page-size:500}")
+    private int maxPageSize;
+    
+    @Value("${dashboard.transactions.max-changes:1000}")
+    private int maxChanges;
+    
+    @Value("${dashboard.search.max-results:50}")
+    private int maxSearchResults;
+    
+    @Value("${dashboard.search.typeahead-limit:10}")
+    private int typeaheadLimit;
+    
+    @Value("${dashboard.bootstrap.recent-limit:50}")
+    private int bootstrapRecentLimit;
+    
+    @Value("${dashboard.bootstrap.timeout:5s}")
+    private Duration bootstrapTimeout;
+    
     /**
-     * Get all accounts for the authenticated user
+     * Get everything the dashboard home page renders first in one round trip: accounts, the
+     * newest page of transactions and a month-to-date spending summary.
+     * The user is authenticated once, and the three reads run concurrently on the
+     * dashboardQueryExecutor, each in its own read-only transaction and connection.
+     * Answers 503 when the executor's queue is full or the reads take longer than
+     * dashboard.bootstrap.timeout, so a burst cannot hold request threads indefinitely.
      */
-    @PostMapping("/accounts/get/all")
-    public ResponseEntity<String> getAllAccounts(
+    @RequestMapping(value = "/bootstrap", method = {RequestMethod.GET, RequestMethod.POST})
+    public ResponseEntity<?> bootstrap(
             HttpServletRequest httpRequest,
-            @RequestBody GetAllAccountsRequest request) {
+            @RequestBody(required = false) DashboardBootstrapRequest request) {
+        
+        // GET requests may omit the body; every field is optional
+        if (request == null) {
+            request = new DashboardBootstrapRequest();
+        }
         
         try {
-            logger.info("Received request to get all accounts");
-            logger.debug("Request body: {}", gsonUtility.toPrettyJson(request));
+            logger.debug("Received request to bootstrap the dashboard");
+            logger.debug("Request body: {}", gsonUtility.lazyJson(request));
             
-            // Extract access token from cookies (consistent with other controllers)
-            String accessToken = GozeHttpUtility.extractAccessTokenFromCookies(httpRequest);
-            if (accessToken == null) {
+            User user = getAuthenticatedUser(httpRequest);
+            if (user == null) {
                 logger.error("No access token found in request");
-                return ResponseEntity.status(401).body(gsonUtility.toPrettyJson(
+                return ResponseEntity.status(401).body(gsonUtility.toResponseJson(
                     ApiResponse.error("Access token is required")));
             }
+            UUID userId = user.getId();
             
-            // Extract username from JWT token
-            String username = jwtTokenUtil.getUsernameFromToken(accessToken);
-            logger.info("Extracted username from token: {}", username);
+            // The month-to-date window moves with the date even when no data changes
+            LocalDate today = LocalDate.now();
+            
+            // Nothing changed since the client's copy: answer from the data version alone
+            String etag = dataVersionETag(httpRequest, user, request, today);
+            if (GozeHttpUtility.isNotModified(httpRequest, etag)) {
+                return notModified(etag);
+            }
             
-            // Look up user by username to get UUID
-            User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found: " + username));
+            Set<TransactionField> fields;
+            try {
+                fields = TransactionField.resolve(request.getFields(), request.getIncludeDetails());
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(gsonUtility.toResponseJson(
+                    ApiResponse.error(e.getMessage())));
+            }
+            
+            int limit = request.getRecentLimit() != null
+                ? Math.max(1, Math.min(request.getRecentLimit(), maxPageSize))
+                : bootstrapRecentLimit;
+            
+            CompletableFuture<List<GetAllAccountsResponse.AccountDto>> accounts = null;
+            CompletableFuture<GetTransactionsPageResponse> recentTransactions = null;
+            CompletableFuture<DashboardBootstrapResponse.SummaryDto> summary = null;
+            DashboardBootstrapResponse response;
+            try {
+                accounts = CompletableFuture.supplyAsync(
+                    () -> getCachedAccounts(user).stream()
+                        .map(this::convertAccountToDto)
+                        .collect(Collectors.toList()),
+                    dashboardQueryExecutor);
+                // Fetch one extra row to learn whether another page follows
+                recentTransactions = CompletableFuture.supplyAsync(
+                    () -> toPageResponse(user, transactionService.getTransactionPage(userId, null, limit + 1, fields),
+                        limit, fields, null),
+                    dashboardQueryExecutor);
+                summary = CompletableFuture.supplyAsync(
+                    () -> getMonthToDateSummary(userId, today),
+                    dashboardQueryExecutor);
+                
+                CompletableFuture.allOf(accounts, recentTransactions, summary)
+                    .get(bootstrapTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                response = new DashboardBootstrapResponse(
+                    accounts.join(), recentTransactions.join(), summary.join(), user.getDataVersion());
+            } catch (RejectedExecutionException | TimeoutException e) {
+                // Queries already started keep running to completion, but nobody waits for them
+                cancelAll(accounts, recentTransactions, summary);
+                logger.warn("Dashboard bootstrap for user: {} shed ({})", userId, e.getClass().getSimpleName());
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(gsonUtility.toResponseJson(
+                    ApiResponse.error("Dashboard is busy, please retry")));
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            }
+            
+            logger.info("Successfully bootstrapped dashboard for user: {}", userId);
+            return success(httpRequest, etag, response);
+            
+        } catch (Exception e) {
+            logger.error("Failed to bootstrap dashboard", e);
+            return ResponseEntity.status(500).body(gsonUtility.toResponseJson(
+                ApiResponse.error("Failed to bootstrap dashboard: " + e.getMessage())));
+        }
+    }
+    
+    private static void cancelAll(CompletableFuture<?>... futures) {
+        for (CompletableFuture<?> future : futures) {
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+    }
+    
+    /**
+     * Spending counted toward the budget from the first of today's month through today, by category
+     */
+    private DashboardBootstrapResponse.SummaryDto getMonthToDateSummary(UUID userId, LocalDate today) {
+        LocalDate monthStart = today.withDayOfMonth(1);
+        
+        TransactionFilter filter = new TransactionFilter();
+        filter.setStartDate(monthStart);
+        filter.setEndDate(today);
+        filter.setExpensesOnly(true);
+        filter.setExcludedFromBudget(false);
+        
+        List<SpendingAggregate> byCategory = transactionService.aggregateSpending(
+            userId, filter, List.of(SpendingDimension.CATEGORY));
+        
+        BigDecimal totalSpending = BigDecimal.ZERO;
+        long expenseCount = 0;
+        List<DashboardBootstrapResponse.CategorySpendingDto> categories = new ArrayList<>(byCategory.size());
+        for (SpendingAggregate aggregate : byCategory) {
+            totalSpending = totalSpending.add(aggregate.total());
+            expenseCount += aggregate.count();
+            categories.add(new DashboardBootstrapResponse.CategorySpendingDto(
+                aggregate.category(), aggregate.total(), aggregate.count()));
+        }
+        
+        return new DashboardBootstrapResponse.SummaryDto(
+            monthStart.toString(), today.toString(), totalSpending, expenseCount, categories);
+    }
+    
+    /**
+     * Get all accounts for the authenticated user
+     */
+    @RequestMapping(value = "/accounts/get/all", method = {RequestMethod.GET, RequestMethod.POST})
+    public ResponseEntity<?> getAllAccounts(
+            HttpServletRequest httpRequest,
+            @RequestBody(required = false) GetAllAccountsRequest request) {
+        
+        // GET requests may omit the body; every field is optional
+        if (request == null) {
+            request = new GetAllAccountsRequest();
+        }
+        
+        try {
+            logger.debug("Received request to get all accounts");
+            logger.debug("Request body: {}", gsonUtility.lazyJson(request));
             
-            // Use the user ID from the authenticated user (from JWT token)
+            User user = getAuthenticatedUser(httpRequest);
+            if (user == null) {
+                logger.error("No access token found in request");
+                return ResponseEntity.status(401).body(gsonUtility.toResponseJson(
+                    ApiResponse.error("Access token is required")));
+            }
             UUID userId = user.getId();
-            logger.info("Using userId from authenticated user: {}", userId);
+            
+            // Nothing changed since the client's copy: answer from the data version alone
+            String etag = dataVersionETag(httpRequest, user, request);
+            if (GozeHttpUtility.isNotModified(httpRequest, etag)) {
+                return notModified(etag);
+            }
             
             // Get all accounts for the authenticated user
-            List<Account> accounts = accountService.getAccountsForUser(userId);
-            logger.info("Found {} accounts for user: {}", accounts.size(), userId);
+            List<Account> accounts = getCachedAccounts(user);
+            logger.debug("Found {} accounts for user: {}", accounts.size(), userId);
             
             // Convert Account entities to DTOs
             List<GetAllAccountsResponse.AccountDto> accountDtos = accounts.stream()
@@ -95,11 +308,11 @@ public class DashboardController {
             );
             
             logger.info("Successfully retrieved {} accounts for user: {}", accounts.size(), userId);
-            return ResponseEntity.ok(gsonUtility.toPrettyJson(ApiResponse.success(response)));
+            return success(httpRequest, etag, response);
             
         } catch (Exception e) {
             logger.error("Failed to get accounts", e);
-            return ResponseEntity.status(500).body(gsonUtility.toPrettyJson(
+            return ResponseEntity.status(500).body(gsonUtility.toResponseJson(
                 ApiResponse.error("Failed to get accounts: " + e.getMessage())));
         }
     }
@@ -127,56 +340,54 @@ public class DashboardController {
     /**
      * Get all transactions for the authenticated user
      */
-    @PostMapping("/transactions/get/all")
-    public ResponseEntity<String> getAllTransactions(
+    @RequestMapping(value = "/transactions/get/all", method = {RequestMethod.GET, RequestMethod.POST})
+    public ResponseEntity<?> getAllTransactions(
             HttpServletRequest httpRequest,
-            @RequestBody GetAllTransactionsRequest request) {
+            @RequestBody(required = false) GetAllTransactionsRequest request) {
+        
+        // GET requests may omit the body; every field is optional
+        if (request == null) {
+            request = new GetAllTransactionsRequest();
+        }
         
         try {
-            logger.info("Received request to get all transactions");
-            logger.debug("Request body: {}", gsonUtility.toPrettyJson(request));
+            logger.debug("Received request to get all transactions");
+            logger.debug("Request body: {}", gsonUtility.lazyJson(request));
             
-            // Extract access token from cookies (consistent with other controllers)
-            String accessToken = GozeHttpUtility.extractAccessTokenFromCookies(httpRequest);
-            if (accessToken == null) {
+            User user = getAuthenticatedUser(httpRequest);
+            if (user == null) {
                 logger.error("No access token found in request");
-                return ResponseEntity.status(401).body(gsonUtility.toPrettyJson(
+                return ResponseEntity.status(401).body(gsonUtility.toResponseJson(
                     ApiResponse.error("Access token is required")));
             }
-            
-            // Extract username from JWT token
-            String username = jwtTokenUtil.getUsernameFromToken(accessToken);
-            logger.info("Extracted username from token: {}", username);
-            
-            // Look up user by username to get UUID
-            User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found: " + username));
-            
-            // Use the user ID from the authenticated user (from JWT token)
             UUID userId = user.getId();
-            logger.info("Using userId from authenticated user: {}", userId);
+            
+            // Nothing changed since the client's copy: answer from the data version alone
+            String etag = dataVersionETag(httpRequest, user, request);
+            if (GozeHttpUtility.isNotModified(httpRequest, etag)) {
+                return notModified(etag);
+            }
             
             // Note: We ignore any userId from the request body for security
             // The userId is always extracted from the JWT token to prevent access to other users' data
             
-            // Get all transactions for the authenticated user
-            List<Transaction> transactions = transactionService.getTransactionsForUser(userId);
-            logger.info("Found {} transactions for user: {}", transactions.size(), userId);
+            Set<TransactionField> fields;
+            try {
+                fields = TransactionField.resolve(request.getFields(), request.getIncludeDetails());
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(gsonUtility.toResponseJson(
+                    ApiResponse.error(e.getMessage())));
+            }
             
-            // NEW: Get all accounts for the user
-            List<Account> accounts = accountService.getAccountsForUser(userId);
+            // Get all transactions for the authenticated user
+            List<TransactionRow> transactions = userDataCache.get(userId, user.getDataVersion(), "transactions:" + fields,
+                () -> transactionService.getTransactionRowsForUser(userId, fields));
+            logger.debug("Found {} transactions for user: {}", transactions.size(), userId);
             
-            // NEW: Create account map for efficient lookup
-            Map<String, String> accountMap = accounts.stream()
-                .collect(Collectors.toMap(
-                    account -> account.getAccountId(),
-                    Account::getName,
-                    (existing, replacement) -> existing  // Handle duplicates
-                ));
             
-            // Convert Transaction entities to DTOs with account names
+            // Convert transaction rows to DTOs with account names
             List<GetAllTransactionsResponse.TransactionDto> transactionDtos = transactions.stream()
-                .map(tx -> convertToDto(tx, accountMap))
+                .map(tx -> convertToDto(tx, fields))
                 .collect(Collectors.toList());
             
             // Create response
@@ -186,97 +397,606 @@ public class DashboardController {
             );
             
             logger.info("Successfully retrieved {} transactions for user: {}", transactions.size(), userId);
-            return ResponseEntity.ok(gsonUtility.toPrettyJson(ApiResponse.success(response)));
+            return success(httpRequest, etag, response);
             
         } catch (Exception e) {
             logger.error("Failed to get transactions", e);
-            return ResponseEntity.status(500).body(gsonUtility.toPrettyJson(
+            return ResponseEntity.status(500).body(gsonUtility.toResponseJson(
                 ApiResponse.error("Failed to get transactions: " + e.getMessage())));
         }
     }
     
     /**
-     * Convert Transaction entity to TransactionDto with account name
+     * Convert a transaction row to TransactionDto with account name, keeping only the requested fields
      */
     private GetAllTransactionsResponse.TransactionDto convertToDto(
-            Transaction transaction, 
-            Map<String, String> accountMap) {
+            TransactionRow transaction, 
+            Set<TransactionField> fields) {
         
-        // Look up account name, default to "Unknown Account" if not found
-        String accountName = accountMap.getOrDefault(
-            transaction.getAccountId().toString(), 
-            "Unknown Account"
-        );
+        // Account name is joined in SQL; default to "Unknown Account" if the account is gone
+        String accountName = fields.contains(TransactionField.ACCOUNT_NAME)
+            ? (transaction.accountName() != null ? transaction.accountName() : "Unknown Account")
+            : null;
         
+        // Fields that were not requested stay null and are left out of the compact JSON
         return new GetAllTransactionsResponse.TransactionDto(
-            transaction.getAccountId(),
+            fields.contains(TransactionField.ACCOUNT_ID) ? transaction.accountId() : null,
             accountName,  // NEW: Add account name
-            transaction.getPlaidTransactionId(),
-            transaction.getAmount(),
-            transaction.getDate() != null ? transaction.getDate().toString() : null,
-            transaction.getName(),
-            transaction.getMerchantName(),
-            transaction.getPending(),
-            transaction.getPlaidCategory(),
-            transaction.getLocation(),
-            transaction.getPaymentMeta(),
-            transaction.getNotes(),
-            transaction.getExcludedFromBudget(),
-            transaction.getCreatedAt() != null ? transaction.getCreatedAt().toString() : null,
-            transaction.getUpdatedAt() != null ? transaction.getUpdatedAt().toString() : null
+            transaction.plaidTransactionId(),
+            transaction.amount(),
+            fields.contains(TransactionField.DATE) ? transaction.date().toString() : null,
+            transaction.name(),
+            transaction.merchantName(),
+            transaction.pending(),
+            transaction.plaidCategory(),
+            transaction.location(),
+            transaction.paymentMeta(),
+            transaction.notes(),
+            transaction.excludedFromBudget(),
+            transaction.createdAt() != null ? transaction.createdAt().toString() : null,
+            transaction.updatedAt() != null ? transaction.updatedAt().toString() : null
         );
     }
     
+    /**
+     * Get one page of transactions for the authenticated user, newest first.
+     * Pages are keyset-paginated on (date desc, id desc) using an opaque cursor.
+     */
+    @RequestMapping(value = "/transactions/get/page", method = {RequestMethod.GET, RequestMethod.POST})
+    public ResponseEntity<?> getTransactionsPage(
+            HttpServletRequest httpRequest,
+            @RequestBody(required = false) GetTransactionsPageRequest request) {
+        
+        // GET requests may omit the body; every field is optional
+        if (request == null) {
+            request = new GetTransactionsPageRequest();
+        }
+        
+        try {
+            logger.debug("Received request to get a page of transactions");
+            logger.debug("Request body: {}", gsonUtility.lazyJson(request));
+            
+            User user = getAuthenticatedUser(httpRequest);
+            if (user == null) {
+                logger.error("No access token found in request");
+                return ResponseEntity.status(401).body(gsonUtility.toResponseJson(
+                    ApiResponse.error("Access token is required")));
+            }
+            UUID userId = user.getId();
+            
+            // Nothing changed since the client's copy: answer from the data version alone
+            String etag = dataVersionETag(httpRequest, user, request);
+            if (GozeHttpUtility.isNotModified(httpRequest, etag)) {
+                return notModified(etag);
+            }
+            
+            TransactionPageCursor cursor;
+            try {
+                cursor = request.getCursor() != null && !request.getCursor().isEmpty()
+                    ? TransactionPageCursor.decode(request.getCursor())
+                    : null;
+            } catch (IllegalArgumentException e) {
+                logger.warn("Invalid page cursor for user: {}", userId);
+                return ResponseEntity.badRequest().body(gsonUtility.toResponseJson(
+                    ApiResponse.error("Invalid cursor")));
+            }
+            
+            Set<TransactionField> fields;
+            try {
+                fields = TransactionField.resolve(request.getFields(), request.getIncludeDetails());
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(gsonUtility.toResponseJson(
+                    ApiResponse.error(e.getMessage())));
+            }
+            
+            int limit = request.getLimit() != null
+                ? Math.max(1, Math.min(request.getLimit(), maxPageSize))
+                : defaultPageSize;
+            
+            // Fetch one extra row to learn whether another page follows
+            List<TransactionRow> transactions = transactionService.getTransactionPage(userId, cursor, limit + 1, fields);
+            
+            Long totalCount = Boolean.TRUE.equals(request.getIncludeTotalCount())
+                ? transactionService.countTransactionsForUser(userId)
+                : null;
+            
+            GetTransactionsPageResponse response = toPageResponse(user, transactions, limit, fields, totalCount);
+            
+            logger.info("Successfully retrieved page of {} transactions for user: {}", response.getTransactions().size(), userId);
+            return success(httpRequest, etag, response);
+            
+        } catch (Exception e) {
+            logger.error("Failed to get transactions page", e);
+            return ResponseEntity.status(500).body(gsonUtility.toResponseJson(
+                ApiResponse.error("Failed to get transactions: " + e.getMessage())));
+        }
+    }
+    
+    /**
+     * Query the authenticated user's transactions with optional date, account, category,
+     * amount, pending and excluded filters, newest first and keyset-paginated.
+     */
+    @RequestMapping(value = "/transactions/query", method = {RequestMethod.GET, RequestMethod.POST})
+    public ResponseEntity<?> queryTransactions(
+            HttpServletRequest httpRequest,
+            @RequestBody(required = false) QueryTransactionsRequest request) {
+        
+        // GET requests may omit the body; every field is optional
+        if (request == null) {
+            request = new QueryTransactionsRequest();
+        }
+        
+        try {
+            logger.debug("Received request to query transactions");
+            logger.debug("Request body: {}", gsonUtility.lazyJson(request));
+            
+            User user = getAuthenticatedUser(httpRequest);
+            if (user == null) {
+                logger.error("No access token found in request");
+                return ResponseEntity.status(401).body(gsonUtility.toResponseJson(
+                    ApiResponse.error("Access token is required")));
+            }
+            UUID userId = user.getId();
+            
+            // Nothing changed since the client's copy: answer from the data version alone
+            String etag = dataVersionETag(httpRequest, user, request);
+            if (GozeHttpUtility.isNotModified(httpRequest, etag)) {
+                return notModified(etag);
+            }
+            
+            TransactionPageCursor cursor;
+            try {
+                cursor = request.getCursor() != null && !request.getCursor().isEmpty()
+                    ? TransactionPageCursor.decode(request.getCursor())
+                    : null;
+            } catch (IllegalArgumentException e) {
+                logger.warn("Invalid page cursor for user: {}", userId);
+                return ResponseEntity.badRequest().body(gsonUtility.toResponseJson(
+                    ApiResponse.error("Invalid cursor")));
+            }
+            
+            Set<TransactionField> fields;
+            try {
+                fields = TransactionField.resolve(request.getFields(), request.getIncludeDetails());
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(gsonUtility.toResponseJson(
+                    ApiResponse.error(e.getMessage())));
+            }
+            
+            int limit = request.getLimit() != null
+                ? Math.max(1, Math.min(request.getLimit(), maxPageSize))
+                : defaultPageSize;
+            
+            TransactionFilter filter = new TransactionFilter();
+            filter.setStartDate(request.getStartDate());
+            filter.setEndDate(request.getEndDate());
+            filter.setAccountIds(request.getAccountIds());
+            filter.setCategories(request.getCategories());
+            filter.setMinAmount(request.getMinAmount());
+            filter.setMaxAmount(request.getMaxAmount());
+            filter.setPending(request.getPending());
+            filter.setExcludedFromBudget(request.getExcludedFromBudget());
+            
+            // Fetch one extra row to learn whether another page follows
+            List<TransactionRow> transactions = transactionService.queryTransactions(userId, filter, cursor, limit + 1, fields);
+            GetTransactionsPageResponse response = toPageResponse(user, transactions, limit, fields, null);
+            
+            logger.info("Successfully queried {} transactions for user: {}", response.getTransactions().size(), userId);
+            return success(httpRequest, etag, response);
+            
+        } catch (Exception e) {
+            logger.error("Failed to query transactions", e);
+            return ResponseEntity.status(500).body(gsonUtility.toResponseJson(
+                ApiResponse.error("Failed to query transactions: " + e.getMessage())));
+        }
+    }
+    
+    /**
+     * Search the authenticated user's transactions by merchant name, name and notes, best match first.
+     * Substring matches and close spellings both count. In typeahead mode returns distinct merchant
+     * or transaction names instead, names starting with the query first.
+     */
+    @RequestMapping(value = "/transactions/search", method = {RequestMethod.GET, RequestMethod.POST})
+    public ResponseEntity<?> searchTransactions(
+            HttpServletRequest httpRequest,
+            @RequestBody(required = false) SearchTransactionsRequest request,
+            @RequestParam(value = "q", required = false) String q) {
+        
+        // GET requests may pass the query as ?q= instead of a body
+        if (request == null) {
+            request = new SearchTransactionsRequest();
+        }
+        if (request.getQuery() == null) {
+            request.setQuery(q);
+        }
+        
+        try {
+            logger.debug("Received request to search transactions");
+            logger.debug("Request body: {}", gsonUtility.lazyJson(request));
+            
+            User user = getAuthenticatedUser(httpRequest);
+            if (user == null) {
+                logger.error("No access token found in request");
+                return ResponseEntity.status(401).body(gsonUtility.toResponseJson(
+                    ApiResponse.error("Access token is required")));
+            }
+            UUID userId = user.getId();
+            
+            String query = request.getQuery() != null ? request.getQuery().trim() : "";
+            if (query.length() < 2) {
+                return ResponseEntity.badRequest().body(gsonUtility.toResponseJson(
+                    ApiResponse.error("Search query must be at least 2 characters")));
+            }
+            
+            // Nothing changed since the client's copy: answer from the data version alone
+            String etag = dataVersionETag(httpRequest, user, request);
+            if (GozeHttpUtility.isNotModified(httpRequest, etag)) {
+                return notModified(etag);
+            }
+            
+            SearchTransactionsResponse response;
+            if (Boolean.TRUE.equals(request.getTypeahead())) {
+                int limit = request.getLimit() != null
+                    ? Math.max(1, Math.min(request.getLimit(), typeaheadLimit))
+                    : typeaheadLimit;
+                List<SearchTransactionsResponse.SuggestionDto> suggestions = transactionService
+                    .suggestTransactionNames(userId, query, limit).stream()
+                    .map(suggestion -> new SearchTransactionsResponse.SuggestionDto(suggestion.label(), suggestion.count()))
+                    .collect(Collectors.toList());
+                response = new SearchTransactionsResponse(List.of(), suggestions);
+            } else {
+                Set<TransactionField> fields;
+                try {
+                    fields = TransactionField.resolve(request.getFields(), request.getIncludeDetails());
+                } catch (IllegalArgumentException e) {
+                    return ResponseEntity.badRequest().body(gsonUtility.toResponseJson(
+                        ApiResponse.error(e.getMessage())));
+                }
+                
+                int limit = request.getLimit() != null
+                    ? Math.max(1, Math.min(request.getLimit(), maxSearchResults))
+                    : maxSearchResults;
+                
+                List<TransactionRow> transactions = transactionService.searchTransactions(userId, query, limit, fields);
+                List<GetAllTransactionsResponse.TransactionDto> transactionDtos = transactions.stream()
+                    .map(tx -> convertToDto(tx, fields))
+                    .collect(Collectors.toList());
+                response = new SearchTransactionsResponse(transactionDtos, List.of());
+            }
+            
+            logger.info("Search returned {} transactions and {} suggestions for user: {}",
+                       response.getTransactions().size(), response.getSuggestions().size(), userId);
+            return success(httpRequest, etag, response);
+            
+        } catch (Exception e) {
+            logger.error("Failed to search transactions", e);
+            return ResponseEntity.status(500).body(gsonUtility.toResponseJson(
+                ApiResponse.error("Failed to search transactions: " + e.getMessage())));
+        }
+    }
+    
+    /**
+     * Get the authenticated user's transaction changes since a change token, so a client holding
+     * a local copy can stay current without refetching everything.
+     * 
+     * A client without a token sends no since, receives a token with resetRequired set, loads its
+     * full copy, and then polls with that token. Rows changed while the copy loads are returned
+     * again by the next poll and are safe to apply twice. When more than dashboard.transactions.max-changes
+     * rows changed, the token is older than the tombstones still retained, or the token is not one
+     * this server issued, resetRequired asks for a reload.
+     */
+    @RequestMapping(value = "/transactions/changes", method = {RequestMethod.GET, RequestMethod.POST})
+    public ResponseEntity<?> getTransactionChanges(
+            HttpServletRequest httpRequest,
+            @RequestBody(required = false) GetTransactionChangesRequest request) {
+        
+        // GET requests may omit the body; every field is optional
+        if (request == null) {
+            request = new GetTransactionChangesRequest();
+        }
+        
+        try {
+            logger.debug("Received request to get transaction changes");
+            logger.debug("Request body: {}", gsonUtility.lazyJson(request));
+            
+            User user = getAuthenticatedUser(httpRequest);
+            if (user == null) {
+                logger.error("No access token found in request");
+                return ResponseEntity.status(401).body(gsonUtility.toResponseJson(
+                    ApiResponse.error("Access token is required")));
+            }
+            UUID userId = user.getId();
+            
+            // Nothing changed since the client's copy: answer from the data version alone
+            String etag = dataVersionETag(httpRequest, user, request);
+            if (GozeHttpUtility.isNotModified(httpRequest, etag)) {
+                return notModified(etag);
+            }
+            
+            Set<TransactionField> fields;
+            try {
+                fields = TransactionField.resolve(request.getFields(), request.getIncludeDetails());
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(gsonUtility.toResponseJson(
+                    ApiResponse.error(e.getMessage())));
+            }
+            // Clients match upserts and removals to their copy by Plaid transaction ID
+            fields.add(TransactionField.PLAID_TRANSACTION_ID);
+            
+            // Changes committed after the user was loaded carry a later version and wait for the next poll
+            long changeToken = user.getDataVersion();
+            Long since = request.getSince();
+            
+            GetTransactionChangesResponse response;
+            if (since == null || since < 0 || since > changeToken) {
+                response = new GetTransactionChangesResponse(List.of(), List.of(), changeToken, true);
+            } else {
+                // Fetch one extra row of each kind to learn whether the changes exceed the limit
+                TransactionChanges changes = transactionService.getTransactionChanges(
+                    userId, since, changeToken, maxChanges + 1, fields);
+                
+                if (changes.upserts().size() > maxChanges || changes.removedPlaidTransactionIds().size() > maxChanges) {
+                    logger.info("Too many transaction changes since {} for user: {}, requesting reload", since, userId);
+                    response = new GetTransactionChangesResponse(List.of(), List.of(), changeToken, true);
+                } else if (since < changes.tombstonesPrunedThrough()) {
+                    logger.info("Removals since {} were pruned for user: {}, requesting reload", since, userId);
+                    response = new GetTransactionChangesResponse(List.of(), List.of(), changeToken, true);
+                } else {
+                    List<GetAllTransactionsResponse.TransactionDto> upserts = changes.upserts().stream()
+                        .map(tx -> convertToDto(tx, fields))
+                        .collect(Collectors.toList());
+                    response = new GetTransactionChangesResponse(
+                        upserts, changes.removedPlaidTransactionIds(), changeToken, false);
+                }
+            }
+            
+            logger.info("Successfully retrieved {} upserts and {} removals for user: {}",
+                       response.getUpserts().size(), response.getRemovedPlaidTransactionIds().size(), userId);
+            return success(httpRequest, etag, response);
+            
+        } catch (Exception e) {
+            logger.error("Failed to get transaction changes", e);
+            return ResponseEntity.status(500).body(gsonUtility.toResponseJson(
+                ApiResponse.error("Failed to get transaction changes: " + e.getMessage())));
+        }
+    }
+    
+    /**
+     * Export all transactions for the authenticated user as a streamed JSON document.
+     * Rows are written as they are read from the database, so memory use does not grow
+     * with the number of transactions and the first bytes are sent immediately.
+     */
+    @PostMapping("/transactions/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(HttpServletRequest httpRequest) {
+        
+        try {
+            logger.debug("Received request to export transactions");
+            
+            User user = getAuthenticatedUser(httpRequest);
+            if (user == null) {
+                logger.error("No access token found in request");
+                String body = gsonUtility.toResponseJson(ApiResponse.error("Access token is required"));
+                return ResponseEntity.status(401)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> out.write(body.getBytes(StandardCharsets.UTF_8)));
+            }
+            UUID userId = user.getId();
+            
+            // The body runs on an async thread, so read the request flag up front
+            boolean pretty = GozeHttpUtility.isPrettyPrintRequested(httpRequest);
+            
+            StreamingResponseBody body = out -> {
+                // MVC runs the body on its async executor, which does not carry the request's binding
+                ReadRoutingContext.bindUser(userId);
+                try {
+                    JsonWriter writer = gsonUtility.newJsonWriter(
+                        new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+                    if (pretty) {
+                        writer.setIndent("  ");
+                    }
+                    int[] written = {0};
+                    
+                    // Same envelope as /transactions/get/all: {"success":true,"data":{"transactions":[...],"totalCount":n}}
+                    writer.beginObject();
+                    writer.name("success").value(true);
+                    writer.name("data").beginObject();
+                    writer.name("transactions").beginArray();
+                    
+                    transactionService.streamTransactionsForUser(userId, TransactionField.ALL, transaction -> {
+                        gsonUtility.toJson(convertToDto(transaction, TransactionField.ALL),
+                            GetAllTransactionsResponse.TransactionDto.class, writer);
+                    
+                        // Push each batch to the client rather than letting it pile up in the buffer
+                        if (++written[0] % EXPORT_FLUSH_INTERVAL == 0) {
+                            try {
+                                writer.flush();
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        }
+                    });
+                    
+                    writer.endArray();
+                    writer.name("totalCount").value(written[0]);
+                    writer.endObject();
+                    writer.endObject();
+                    writer.flush();
+                    
+                    logger.info("Successfully exported {} transactions for user: {}", written[0], userId);
+                } finally {
+                    ReadRoutingContext.clear();
+                }
+            };
+            
+            return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+            
+        } catch (Exception e) {
+            logger.error("Failed to export transactions", e);
+            String body = gsonUtility.toResponseJson(ApiResponse.error("Failed to export transactions: " + e.getMessage()));
+            return ResponseEntity.status(500)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(out -> out.write(body.getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+    
+    /**
+     * Build a page response from up to limit + 1 rows; the extra row only signals that more pages follow
+     */
+    private GetTransactionsPageResponse toPageResponse(User user, List<TransactionRow> transactions, int limit,
+                                                       Set<TransactionField> fields, Long totalCount) {
+        boolean hasMore = transactions.size() > limit;
+        if (hasMore) {
+            transactions = transactions.subList(0, limit);
+        }
+        
+        String nextCursor = null;
+        if (hasMore) {
+            TransactionRow last = transactions.get(transactions.size() - 1);
+            nextCursor = new TransactionPageCursor(last.date(), last.id()).encode();
+        }
+        
+        List<GetAllTransactionsResponse.TransactionDto> transactionDtos = transactions.stream()
+            .map(tx -> convertToDto(tx, fields))
+            .collect(Collectors.toList());
+        
+        return new GetTransactionsPageResponse(transactionDtos, nextCursor, hasMore, totalCount);
+    }
+    
+    /**
+     * Resolve the authenticated user from the access token cookie, or null if there is no token
+     */
+    private User getAuthenticatedUser(HttpServletRequest httpRequest) {
+        String accessToken = GozeHttpUtility.extractAccessTokenFromCookies(httpRequest);
+        if (accessToken == null) {
+            return null;
+        }
+        
+        // Extract username from JWT token and look up user by username
+        String username = jwtTokenUtil.getUsernameFromToken(accessToken);
+        User user = userRepository.findByUsername(username)
+            .orElseThrow(() -> new RuntimeException("User not found: " + username));
+        
+        // Reads for this request follow the user's read-your-writes routing
+        ReadRoutingContext.bindUser(user.getId());
+        return user;
+    }
+    
+    /**
+     * ETag for a dashboard read: the user's data version plus a digest of everything else that
+     * shapes the response (user, endpoint, request body and output format, JSON or CBOR). Any sync, notes or
+     * account change bumps the version and so invalidates every ETag the user holds.
+     * The request is keyed by its Lombok-generated toString, which lists every field by name.
+     * 
+     * @param context Anything else the response depends on besides stored data, such as the current date
+     */
+    private String dataVersionETag(HttpServletRequest httpRequest, User user, Object request, Object... context) {
+        String representation = user.getId() + "|" + httpRequest.getRequestURI() + "|" +
+            request + "|" + GozeHttpUtility.isPrettyPrintRequested(httpRequest) + "|" +
+            GozeHttpUtility.isCborRequested(httpRequest) + "|" + Arrays.toString(context);
+        return "\"" + user.getDataVersion() + "-" +
+            DigestUtils.md5DigestAsHex(representation.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+    
+    /**
+     * 200 response wrapping the data in ApiResponse, encoded as CBOR when the Accept header asks
+     * for it and as JSON otherwise. Encoded sizes are recorded per format as goze.dashboard.response.bytes.
+     */
+    private ResponseEntity<?> success(HttpServletRequest httpRequest, String etag, Object data) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .varyBy(HttpHeaders.ACCEPT);
+        
+        if (GozeHttpUtility.isCborRequested(httpRequest)) {
+            byte[] body = cborUtility.toCbor(ApiResponse.success(data));
+            recordResponseSize("cbor", body.length);
+            return builder.contentType(CborUtility.APPLICATION_CBOR).body(body);
+        }
+        
+        // Encoded here rather than by the message converter so the size can be recorded without a second pass
+        byte[] body = gsonUtility.toResponseJson(ApiResponse.success(data)).getBytes(StandardCharsets.UTF_8);
+        recordResponseSize("json", body.length);
+        return builder.contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+    
+    private void recordResponseSize(String format, int bytes) {
+        DistributionSummary.builder("goze.dashboard.response.bytes")
+            .description("Encoded size of dashboard responses")
+            .baseUnit("bytes")
+            .tag("format", format)
+            .register(meterRegistry)
+            .record(bytes);
+    }
+    
+    /**
+     * 304 response for a client whose copy matches the current ETag
+     */
+    private ResponseEntity<?> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+            .eTag(etag)
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .varyBy(HttpHeaders.ACCEPT)
+            .build();
+    }
+    
+    /**
+     * The user's accounts, served from the per-user cache while their data version is unchanged
+     */
+    private List<Account> getCachedAccounts(User user) {
+        return userDataCache.get(user.getId(), user.getDataVersion(), "accounts",
+            () -> accountService.getAccountsForUser(user.getId()));
+    }
+    
     /**
      * Get expense transactions for the authenticated user
      */
-    @PostMapping("/transactions/get/expenses")
-    public ResponseEntity<String> getExpenseTransactions(
+    @RequestMapping(value = "/transactions/get/expenses", method = {RequestMethod.GET, RequestMethod.POST})
+    public ResponseEntity<?> getExpenseTransactions(
             HttpServletRequest httpRequest,
-            @RequestBody GetExpenseTransactionsRequest request) {
+            @RequestBody(required = false) GetExpenseTransactionsRequest request) {
 
+        // GET requests may omit the body; every field is optional
+        if (request == null) {
+            request = new GetExpenseTransactionsRequest();
+        }
+        
         try {
-            logger.info("Received request to get expense transactions");
-            logger.debug("Request body: {}", gsonUtility.toPrettyJson(request));
+            logger.debug("Received request to get expense transactions");
+            logger.debug("Request body: {}", gsonUtility.lazyJson(request));
 
-            // Extract access token from cookies (consistent with other controllers)
-            String accessToken = GozeHttpUtility.extractAccessTokenFromCookies(httpRequest);
-            if (accessToken == null) {
+            User user = getAuthenticatedUser(httpRequest);
+            if (user == null) {
                 logger.error("No access token found in request");
-                return ResponseEntity.status(401).body(gsonUtility.toPrettyJson(
+                return ResponseEntity.status(401).body(gsonUtility.toResponseJson(
                     ApiResponse.error("Access token is required")));
             }
-
-            // Extract username from JWT token
-            String username = jwtTokenUtil.getUsernameFromToken(accessToken);
-            logger.info("Extracted username from token: {}", username);
-
-            // Look up user by username to get UUID
-            User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found: " + username));
-
-            // Use the user ID from the authenticated user (from JWT token)
             UUID userId = user.getId();
-            logger.info("Using userId from authenticated user: {}", userId);
+            
+            // Nothing changed since the client's copy: answer from the data version alone
+            String etag = dataVersionETag(httpRequest, user, request);
+            if (GozeHttpUtility.isNotModified(httpRequest, etag)) {
+                return notModified(etag);
+            }
+
+            Set<TransactionField> fields;
+            try {
+                fields = TransactionField.resolve(request.getFields(), request.getIncludeDetails());
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(gsonUtility.toResponseJson(
+                    ApiResponse.error(e.getMessage())));
+            }
 
             // Get expense transactions for the authenticated user
-            List<Transaction> transactions = transactionService.getExpenseTransactionsForUser(userId);
-            logger.info("Found {} expense transactions for user: {}", transactions.size(), userId);
+            List<TransactionRow> transactions = userDataCache.get(userId, user.getDataVersion(), "expenses:" + fields,
+                () -> transactionService.getExpenseTransactionRowsForUser(userId, fields));
+            logger.debug("Found {} expense transactions for user: {}", transactions.size(), userId);
 
-            // NEW: Get all accounts for the user
-            List<Account> accounts = accountService.getAccountsForUser(userId);
-            
-            // NEW: Create account map for efficient lookup
-            Map<String, String> accountMap = accounts.stream()
-                .collect(Collectors.toMap(
-                    account -> account.getAccountId(),
-                    Account::getName,
-                    (existing, replacement) -> existing
-                ));
 
-            // Convert Transaction entities to DTOs with account names
+            // Convert transaction rows to DTOs with account names
             List<GetExpenseTransactionsResponse.TransactionDto> transactionDtos = transactions.stream()
-                .map(tx -> convertExpenseTransactionToDto(tx, accountMap))
+                .map(tx -> convertExpenseTransactionToDto(tx, fields))
                 .collect(Collectors.toList());
 
             // Create response
@@ -286,44 +1006,44 @@ public class DashboardController {
             );
 
             logger.info("Successfully retrieved {} expense transactions for user: {}", transactions.size(), userId);
-            return ResponseEntity.ok(gsonUtility.toPrettyJson(ApiResponse.success(response)));
+            return success(httpRequest, etag, response);
 
         } catch (Exception e) {
             logger.error("Failed to get expense transactions", e);
-            return ResponseEntity.status(500).body(gsonUtility.toPrettyJson(
+            return ResponseEntity.status(500).body(gsonUtility.toResponseJson(
                 ApiResponse.error("Failed to get expense transactions: " + e.getMessage())));
         }
     }
 
     /**
-     * Convert Transaction entity to ExpenseTransactionDto with account name
+     * Convert a transaction row to ExpenseTransactionDto with account name, keeping only the requested fields
      */
     private GetExpenseTransactionsResponse.TransactionDto convertExpenseTransactionToDto(
-            Transaction transaction,
-            Map<String, String> accountMap) {
+            TransactionRow transaction, 
+            Set<TransactionField> fields) {
         
-        // Look up account name, default to "Unknown Account" if not found
-        String accountName = accountMap.getOrDefault(
-            transaction.getAccountId(),
-            "Unknown Account"
-        );
+        // Account name is joined in SQL; default to "Unknown Account" if the account is gone
+        String accountName = fields.contains(TransactionField.ACCOUNT_NAME)
+            ? (transaction.accountName() != null ? transaction.accountName() : "Unknown Account")
+            : null;
         
+        // Fields that were not requested stay null and are left out of the compact JSON
         return new GetExpenseTransactionsResponse.TransactionDto(
-            transaction.getAccountId(),
+            fields.contains(TransactionField.ACCOUNT_ID) ? transaction.accountId() : null,
             accountName,  // NEW: Add account name
-            transaction.getPlaidTransactionId(),
-            transaction.getAmount(),
-            transaction.getDate() != null ? transaction.getDate().toString() : null,
-            transaction.getName(),
-            transaction.getMerchantName(),
-            transaction.getPending(),
-            transaction.getPlaidCategory(),
-            transaction.getLocation(),
-            transaction.getPaymentMeta(),
-            transaction.getNotes(),
-            transaction.getExcludedFromBudget(),
-            transaction.getCreatedAt() != null ? transaction.getCreatedAt().toString() : null,
-            transaction.getUpdatedAt() != null ? transaction.getUpdatedAt().toString() : null
+            transaction.plaidTransactionId(),
+            transaction.amount(),
+            fields.contains(TransactionField.DATE) ? transaction.date().toString() : null,
+            transaction.name(),
+            transaction.merchantName(),
+            transaction.pending(),
+            transaction.plaidCategory(),
+            transaction.location(),
+            transaction.paymentMeta(),
+            transaction.notes(),
+            transaction.excludedFromBudget(),
+            transaction.createdAt() != null ? transaction.createdAt().toString() : null,
+            transaction.updatedAt() != null ? transaction.updatedAt().toString() : null
         );
     }
 }
\ No newline at end of file
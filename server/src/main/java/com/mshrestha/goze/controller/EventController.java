@@ -0,0 +1,76 @@
+package com.mshrestha.goze.controller;
+
+import com.mshrestha.goze.model.User;
+import com.mshrestha.goze.repository.UserRepository;
+import com.mshrestha.goze.security.JwtTokenUtil;
+import com.mshrestha.goze.service.UserEventStreamService;
+import com.mshrestha.goze.utils.GozeHttpUtility;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-sent event streams that tell a signed-in client when their data changed,
+ * so it can refresh without polling.
+ */
+@RestController
+@RequestMapping("/api/v1/events")
+public class EventController {
+    private static final Logger logger = LoggerFactory.getLogger(EventController.class);
+    
+    @Autowired
+    private UserEventStreamService userEventStreamService;
+    
+    @Autowired
+    private JwtTokenUtil jwtTokenUtil;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    /**
+     * Open an event stream for the authenticated user.
+     * Sends "ready" with the current change token, then "transactions" with a summary and
+     * the new change token whenever a sync for the user commits. An event only signals that
+     * something changed: fetch the rows from /api/v1/dashboard/transactions/changes with the
+     * token the client already held as since (the changes are those after it), then keep the
+     * changeToken that response returns. Passing the event's own token as since returns nothing.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(HttpServletRequest httpRequest) {
+        try {
+            String accessToken = GozeHttpUtility.extractAccessTokenFromCookies(httpRequest);
+            if (accessToken == null) {
+                logger.error("No access token found in request");
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+            
+            // Extract username from JWT token and look up user by username
+            String username = jwtTokenUtil.getUsernameFromToken(accessToken);
+            User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found: " + username));
+            
+            SseEmitter emitter = userEventStreamService.subscribe(user.getId(), user.getDataVersion());
+            if (emitter == null) {
+                logger.warn("Too many open event streams for user: {}", user.getId());
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+            }
+            
+            // Keep reverse proxies from buffering the stream
+            return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+            
+        } catch (Exception e) {
+            logger.error("Failed to open event stream", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
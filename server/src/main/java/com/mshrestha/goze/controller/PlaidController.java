@@ -76,7 +76,7 @@ public class PlaidController {
         @RequestBody ExchangePublicTokenRequest exchangeRequest,
         HttpServletRequest request) {
         try {
-            logger.info("Received exchange public token request: {}", gsonUtility.toJson(exchangeRequest));
+            logger.debug("Received exchange public token request: {}", gsonUtility.lazyJson(exchangeRequest));
             
             // Extract accessToken from HTTP cookies
             String accessToken = GozeHttpUtility.extractAccessTokenFromCookies(request);
@@ -95,7 +95,7 @@ public class PlaidController {
             
             // Extract username from JWT token
             String username = jwtTokenUtil.getUsernameFromToken(accessToken);
-            logger.info("Extracted username from token: {}", username);
+            logger.debug("Extracted username from token: {}", username);
             
             // Look up user by username to get UUID
             User user = userRepository.findByUsername(username)
@@ -103,7 +103,7 @@ public class PlaidController {
             
             // Update request with user UUID
             exchangeRequest.setUserId(user.getId().toString());
-            logger.info("Set userId to: {}", user.getId());
+            logger.debug("Set userId to: {}", user.getId());
             
             ExchangePublicTokenResponse response = plaidService.exchangePublicToken(exchangeRequest);
             logger.info("Successfully exchanged public token for user: {}", user.getId());
@@ -124,10 +124,10 @@ public class PlaidController {
         @RequestBody ExchangePublicTokenRequest request) {
         try {
             // Log the incoming request using Gson for pretty formatting
-            logger.info("Received request (pretty JSON):\n{}", gsonUtility.toPrettyJson(request));
+            logger.info("Received request (pretty JSON):\n{}", gsonUtility.lazyJson(request));
             
             // Serialize to compact JSON for logging
-            logger.info("Received request (compact JSON): {}", gsonUtility.toJson(request));
+            logger.info("Received request (compact JSON): {}", gsonUtility.lazyCompactJson(request));
             
             // Example: Deserialize from JSON string (useful for processing raw JSON)
             String jsonString = gsonUtility.toJson(request);
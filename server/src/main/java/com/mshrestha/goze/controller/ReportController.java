@@ -0,0 +1,280 @@
+package com.mshrestha.goze.controller;
+
+import com.mshrestha.goze.config.ReadRoutingContext;
+import com.mshrestha.goze.dto.api.ApiResponse;
+import com.mshrestha.goze.dto.report.ChartSeriesRequest;
+import com.mshrestha.goze.dto.report.ChartSeriesResponse;
+import com.mshrestha.goze.dto.report.SpendingReportRequest;
+import com.mshrestha.goze.dto.report.SpendingReportResponse;
+import com.mshrestha.goze.model.User;
+import com.mshrestha.goze.repository.SpendingAggregate;
+import com.mshrestha.goze.repository.SpendingDimension;
+import com.mshrestha.goze.repository.TransactionFilter;
+import com.mshrestha.goze.repository.UserRepository;
+import com.mshrestha.goze.security.JwtTokenUtil;
+import com.mshrestha.goze.service.TransactionService;
+import com.mshrestha.goze.utils.GozeHttpUtility;
+import com.mshrestha.goze.utils.GsonUtility;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Aggregated views over a user's transactions, computed in the database so only the
+ * aggregated rows are sent to the client.
+ */
+@RestController
+@RequestMapping("/api/v1/reports")
+public class ReportController {
+    private static final Logger logger = LoggerFactory.getLogger(ReportController.class);
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private JwtTokenUtil jwtTokenUtil;
+    
+    @Autowired
+    private GsonUtility gsonUtility;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    /**
+     * Get the authenticated user's spending totals and counts grouped by category, merchant,
+     * account and/or a day, week or month period, over an optional date range. With a limit,
+     * only the groups with the largest totals are returned, largest first.
+     */
+    @RequestMapping(value = "/spending", method = {RequestMethod.GET, RequestMethod.POST})
+    public ResponseEntity<String> getSpending(
+            HttpServletRequest httpRequest,
+            @RequestBody(required = false) SpendingReportRequest request) {
+        
+        // GET requests may omit the body; every field is optional
+        if (request == null) {
+            request = new SpendingReportRequest();
+        }
+        
+        try {
+            logger.debug("Received request to aggregate spending");
+            logger.debug("Request body: {}", gsonUtility.lazyJson(request));
+            
+            User user = getAuthenticatedUser(httpRequest);
+            if (user == null) {
+                logger.error("No access token found in request");
+                return ResponseEntity.status(401).body(gsonUtility.toResponseJson(
+                    ApiResponse.error("Access token is required")));
+            }
+            UUID userId = user.getId();
+            
+            List<SpendingDimension> groupBy;
+            try {
+                groupBy = resolveGroupBy(request.getGroupBy());
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(gsonUtility.toResponseJson(
+                    ApiResponse.error(e.getMessage())));
+            }
+            
+            Integer limit = request.getLimit();
+            if (limit != null && (limit < 1 || groupBy.size() != 1 || groupBy.get(0).isTime())) {
+                return ResponseEntity.badRequest().body(gsonUtility.toResponseJson(
+                    ApiResponse.error("Limit must be positive and needs a single category, merchant or account groupBy")));
+            }
+            
+            TransactionFilter filter = new TransactionFilter();
+            filter.setStartDate(request.getStartDate());
+            filter.setEndDate(request.getEndDate());
+            filter.setAccountIds(request.getAccountIds());
+            filter.setCategories(request.getCategories());
+            filter.setExpensesOnly(!Boolean.FALSE.equals(request.getExpensesOnly()));
+            if (!Boolean.TRUE.equals(request.getIncludeExcludedFromBudget())) {
+                filter.setExcludedFromBudget(false);
+            }
+            
+            List<SpendingAggregate> aggregates = limit != null
+                ? transactionService.topSpending(userId, user.getDataVersion(), filter, groupBy.get(0), limit)
+                : transactionService.aggregateSpending(userId, user.getDataVersion(), filter, groupBy);
+            
+            SpendingReportResponse response = new SpendingReportResponse(
+                groupBy.stream().map(SpendingDimension::getKey).collect(Collectors.toList()),
+                aggregates.stream().map(this::convertToDto).collect(Collectors.toList())
+            );
+            
+            logger.info("Successfully aggregated spending into {} groups for user: {}", aggregates.size(), userId);
+            return ResponseEntity.ok(gsonUtility.toResponseJson(ApiResponse.success(response)));
+            
+        } catch (Exception e) {
+            logger.error("Failed to aggregate spending", e);
+            return ResponseEntity.status(500).body(gsonUtility.toResponseJson(
+                ApiResponse.error("Failed to aggregate spending: " + e.getMessage())));
+        }
+    }
+    
+    /**
+     * Get the authenticated user's spending per category over time as parallel arrays, bucketed
+     * by day, week or month. Served from the daily rollups, so cost tracks the number of buckets
+     * rather than the number of transactions.
+     */
+    @RequestMapping(value = "/chart-series", method = {RequestMethod.GET, RequestMethod.POST})
+    public ResponseEntity<String> getChartSeries(
+            HttpServletRequest httpRequest,
+            @RequestBody(required = false) ChartSeriesRequest request) {
+        
+        // GET requests may omit the body; every field is optional
+        if (request == null) {
+            request = new ChartSeriesRequest();
+        }
+        
+        try {
+            logger.debug("Received request for chart series");
+            logger.debug("Request body: {}", gsonUtility.lazyJson(request));
+            
+            User user = getAuthenticatedUser(httpRequest);
+            if (user == null) {
+                logger.error("No access token found in request");
+                return ResponseEntity.status(401).body(gsonUtility.toResponseJson(
+                    ApiResponse.error("Access token is required")));
+            }
+            UUID userId = user.getId();
+            
+            SpendingDimension granularity;
+            try {
+                granularity = request.getGranularity() != null
+                    ? SpendingDimension.fromKey(request.getGranularity())
+                    : SpendingDimension.DAY;
+            } catch (IllegalArgumentException e) {
+                granularity = null;
+            }
+            if (granularity == null || !granularity.isTime()) {
+                return ResponseEntity.badRequest().body(gsonUtility.toResponseJson(
+                    ApiResponse.error("Granularity must be one of day, week or month")));
+            }
+            
+            TransactionFilter filter = new TransactionFilter();
+            filter.setStartDate(request.getStartDate());
+            filter.setEndDate(request.getEndDate());
+            filter.setAccountIds(request.getAccountIds());
+            filter.setCategories(request.getCategories());
+            filter.setExpensesOnly(!Boolean.FALSE.equals(request.getExpensesOnly()));
+            if (!Boolean.TRUE.equals(request.getIncludeExcludedFromBudget())) {
+                filter.setExcludedFromBudget(false);
+            }
+            
+            // Grouped by period first, so points arrive in period order
+            List<SpendingAggregate> aggregates = transactionService.aggregateSpending(
+                userId, filter, List.of(granularity, SpendingDimension.CATEGORY));
+            ChartSeriesResponse response = toChartSeries(granularity, aggregates);
+            
+            logger.info("Successfully built chart series of {} points for user: {}", aggregates.size(), userId);
+            return ResponseEntity.ok(gsonUtility.toResponseJson(ApiResponse.success(response)));
+            
+        } catch (Exception e) {
+            logger.error("Failed to build chart series", e);
+            return ResponseEntity.status(500).body(gsonUtility.toResponseJson(
+                ApiResponse.error("Failed to build chart series: " + e.getMessage())));
+        }
+    }
+    
+    /**
+     * Resolve the authenticated user from the access token cookie, or null if there is no token
+     */
+    private User getAuthenticatedUser(HttpServletRequest httpRequest) {
+        String accessToken = GozeHttpUtility.extractAccessTokenFromCookies(httpRequest);
+        if (accessToken == null) {
+            return null;
+        }
+        
+        // Extract username from JWT token and look up user by username
+        String username = jwtTokenUtil.getUsernameFromToken(accessToken);
+        User user = userRepository.findByUsername(username)
+            .orElseThrow(() -> new RuntimeException("User not found: " + username));
+        
+        // Reads for this request follow the user's read-your-writes routing
+        ReadRoutingContext.bindUser(user.getId());
+        return user;
+    }
+    
+    /**
+     * Lay the aggregates out as parallel columns, dictionary-encoding the categories
+     */
+    private ChartSeriesResponse toChartSeries(SpendingDimension granularity, List<SpendingAggregate> aggregates) {
+        int size = aggregates.size();
+        int[] epochDay = new int[size];
+        long[] amountCents = new long[size];
+        int[] count = new int[size];
+        int[] category = new int[size];
+        
+        List<String> categories = new ArrayList<>();
+        Map<String, Integer> categoryIndex = new HashMap<>();
+        
+        for (int i = 0; i < size; i++) {
+            SpendingAggregate aggregate = aggregates.get(i);
+            epochDay[i] = (int) aggregate.period().toEpochDay();
+            amountCents[i] = aggregate.total().movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+            count[i] = (int) aggregate.count();
+            if (aggregate.category() == null) {
+                category[i] = -1;
+            } else {
+                category[i] = categoryIndex.computeIfAbsent(aggregate.category(), name -> {
+                    categories.add(name);
+                    return categories.size() - 1;
+                });
+            }
+        }
+        
+        return new ChartSeriesResponse(granularity.getKey(), categories, epochDay, amountCents, count, category);
+    }
+    
+    /**
+     * Parse the requested group-by keys, defaulting to category
+     * 
+     * @throws IllegalArgumentException for unknown keys or more than one time dimension
+     */
+    private List<SpendingDimension> resolveGroupBy(List<String> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return List.of(SpendingDimension.CATEGORY);
+        }
+        
+        List<SpendingDimension> groupBy = new ArrayList<>();
+        boolean hasTime = false;
+        for (String key : keys) {
+            SpendingDimension dimension = SpendingDimension.fromKey(key);
+            if (groupBy.contains(dimension)) {
+                continue;
+            }
+            if (dimension.isTime()) {
+                if (hasTime) {
+                    throw new IllegalArgumentException("Only one of day, week or month can be grouped by");
+                }
+                hasTime = true;
+            }
+            groupBy.add(dimension);
+        }
+        return groupBy;
+    }
+    
+    /**
+     * Convert an aggregate row to its DTO
+     */
+    private SpendingReportResponse.SpendingRowDto convertToDto(SpendingAggregate aggregate) {
+        return new SpendingReportResponse.SpendingRowDto(
+            aggregate.category(),
+            aggregate.merchant(),
+            aggregate.accountId(),
+            aggregate.period() != null ? aggregate.period().toString() : null,
+            aggregate.total(),
+            aggregate.count()
+        );
+    }
+}
@@ -0,0 +1,16 @@
+package com.mshrestha.goze.dto.dashboard;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Request DTO for the dashboard bootstrap payload.
+ * User ID is extracted from JWT token for security.
+ */
+@Data
+public class DashboardBootstrapRequest {
+    private Integer recentLimit;           // recent transactions to include, capped by the server
+    private Boolean includeDetails;        // also return the raw location and payment-meta JSON
+    private List<String> fields;           // DTO field names to return; defaults to all but location and paymentMeta
+}
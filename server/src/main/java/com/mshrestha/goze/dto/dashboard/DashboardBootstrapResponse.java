@@ -0,0 +1,42 @@
+package com.mshrestha.goze.dto.dashboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Response DTO with everything the dashboard home page renders first: accounts, the first page
+ * of recent transactions and a month-to-date spending summary.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardBootstrapResponse {
+    private List<GetAllAccountsResponse.AccountDto> accounts;
+    private GetTransactionsPageResponse recentTransactions;   // continue with /transactions/get/page and nextCursor
+    private SummaryDto summary;
+    private long changeToken;         // pass to /transactions/changes to stay current
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SummaryDto {
+        private String periodStart;       // yyyy-MM-dd, first day of the current month
+        private String periodEnd;         // yyyy-MM-dd, today
+        private BigDecimal totalSpending; // sum of expenses counted toward the budget; negative
+        private long expenseCount;
+        private List<CategorySpendingDto> categories;
+    }
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CategorySpendingDto {
+        private String category;
+        private BigDecimal total;
+        private long count;
+    }
+}
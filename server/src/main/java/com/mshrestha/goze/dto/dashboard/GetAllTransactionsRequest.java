@@ -2,8 +2,13 @@ package com.mshrestha.goze.dto.dashboard;
 
 import lombok.Data;
 
+import java.util.List;
+
 @Data
 public class GetAllTransactionsRequest {
-    // No fields needed - user ID is extracted from JWT token
+    // User ID is extracted from JWT token, never taken from the request body
     // This prevents users from accessing other users' transactions
+    
+    private Boolean includeDetails;        // also return the raw location and payment-meta JSON
+    private List<String> fields;           // DTO field names to return; defaults to all but location and paymentMeta
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.mshrestha.goze.dto.dashboard;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Request DTO for the authenticated user's transaction changes since a change token.
+ * User ID is extracted from JWT token for security.
+ */
+@Data
+public class GetTransactionChangesRequest {
+    private Long since;                    // changeToken from the previous response; null to obtain a starting token
+    private Boolean includeDetails;        // also return the raw location and payment-meta JSON
+    private List<String> fields;           // DTO field names to return; plaidTransactionId is always included
+}
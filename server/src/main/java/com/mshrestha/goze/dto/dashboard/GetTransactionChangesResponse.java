@@ -0,0 +1,22 @@
+package com.mshrestha.goze.dto.dashboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for transaction changes since a change token.
+ * When resetRequired is set the lists are empty and the client should reload its full copy,
+ * then continue from the returned changeToken.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GetTransactionChangesResponse {
+    private List<GetAllTransactionsResponse.TransactionDto> upserts;   // inserted or updated, keyed by plaidTransactionId
+    private List<String> removedPlaidTransactionIds;
+    private long changeToken;         // pass back as since on the next request
+    private boolean resetRequired;
+}
@@ -0,0 +1,18 @@
+package com.mshrestha.goze.dto.dashboard;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Request DTO for one page of the authenticated user's transactions.
+ * User ID is extracted from JWT token for security.
+ */
+@Data
+public class GetTransactionsPageRequest {
+    private String cursor;                 // nextCursor from the previous page; null for the first page
+    private Integer limit;                 // page size, capped by the server
+    private Boolean includeDetails;        // also return the raw location and payment-meta JSON
+    private List<String> fields;           // DTO field names to return; defaults to all but location and paymentMeta
+    private Boolean includeTotalCount;     // also count all of the user's transactions
+}
@@ -0,0 +1,20 @@
+package com.mshrestha.goze.dto.dashboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for one page of transactions, newest first.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GetTransactionsPageResponse {
+    private List<GetAllTransactionsResponse.TransactionDto> transactions;
+    private String nextCursor;        // pass back to fetch the next page; null on the last page
+    private boolean hasMore;
+    private Long totalCount;          // only set when includeTotalCount was requested
+}
@@ -0,0 +1,28 @@
+package com.mshrestha.goze.dto.dashboard;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Request DTO for querying the authenticated user's transactions with server-side filters.
+ * Every filter is optional; omitted filters match all transactions.
+ * User ID is extracted from JWT token for security.
+ */
+@Data
+public class QueryTransactionsRequest {
+    private LocalDate startDate;           // inclusive, yyyy-MM-dd
+    private LocalDate endDate;             // inclusive, yyyy-MM-dd
+    private List<String> accountIds;       // Plaid account IDs
+    private List<String> categories;       // Plaid categories
+    private BigDecimal minAmount;          // inclusive
+    private BigDecimal maxAmount;          // inclusive
+    private Boolean pending;
+    private Boolean excludedFromBudget;
+    private String cursor;                 // nextCursor from the previous page; null for the first page
+    private Integer limit;                 // page size, capped by the server
+    private Boolean includeDetails;        // also return the raw location and payment-meta JSON
+    private List<String> fields;           // DTO field names to return; defaults to all but location and paymentMeta
+}
@@ -0,0 +1,18 @@
+package com.mshrestha.goze.dto.dashboard;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Request DTO for searching the authenticated user's transactions by merchant name, name and notes.
+ * User ID is extracted from JWT token for security.
+ */
+@Data
+public class SearchTransactionsRequest {
+    private String query;                  // at least two characters, matched case-insensitively
+    private Boolean typeahead;             // return name suggestions instead of transactions
+    private Integer limit;                 // maximum results, capped by the server
+    private Boolean includeDetails;        // also return the raw location and payment-meta JSON
+    private List<String> fields;           // DTO field names to return; defaults to all but location and paymentMeta
+}
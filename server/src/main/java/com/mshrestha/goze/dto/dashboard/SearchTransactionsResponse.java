@@ -0,0 +1,27 @@
+package com.mshrestha.goze.dto.dashboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for a transaction search. Holds transactions, best match first, or in typeahead
+ * mode name suggestions; the other list is empty.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchTransactionsResponse {
+    private List<GetAllTransactionsResponse.TransactionDto> transactions;
+    private List<SuggestionDto> suggestions;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SuggestionDto {
+        private String label;         // merchant name, or transaction name when there is no merchant
+        private long count;           // transactions carrying this name
+    }
+}
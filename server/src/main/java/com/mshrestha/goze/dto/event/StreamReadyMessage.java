@@ -0,0 +1,15 @@
+package com.mshrestha.goze.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data of the "ready" server-sent event, sent once when a stream opens
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StreamReadyMessage {
+    private long changeToken;         // the user's data version when the stream opened
+}
@@ -0,0 +1,20 @@
+package com.mshrestha.goze.dto.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data of the "transactions" server-sent event: a summary of a completed sync.
+ * Clients fetch the rows themselves from /transactions/changes using the change token.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionsSyncedMessage {
+    private String plaidItemId;
+    private int added;
+    private int modified;
+    private int removed;
+    private long changeToken;         // the user's data version after the sync; not a since value for /changes
+}
@@ -0,0 +1,21 @@
+package com.mshrestha.goze.dto.report;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Request DTO for columnar chart series. Every field is optional.
+ * User ID is extracted from JWT token for security.
+ */
+@Data
+public class ChartSeriesRequest {
+    private LocalDate startDate;                   // inclusive, yyyy-MM-dd
+    private LocalDate endDate;                     // inclusive, yyyy-MM-dd
+    private String granularity;                    // day, week or month; defaults to day
+    private List<String> accountIds;               // Plaid account IDs
+    private List<String> categories;               // Plaid categories
+    private Boolean expensesOnly;                  // defaults to true (amount < 0)
+    private Boolean includeExcludedFromBudget;     // defaults to false
+}
@@ -0,0 +1,25 @@
+package com.mshrestha.goze.dto.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for chart series in column-oriented form. Point i of the series is
+ * (epochDay[i], amountCents[i], count[i]) for category categories[category[i]], so charts can
+ * read the parallel arrays directly instead of walking one object per point.
+ * Points are ordered by period, then category.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChartSeriesResponse {
+    private String granularity;
+    private List<String> categories;  // dictionary of category names, indexed by category[]
+    private int[] epochDay;           // first day of each point's bucket, as days since 1970-01-01
+    private long[] amountCents;       // signed as stored; expenses are negative
+    private int[] count;
+    private int[] category;           // index into categories; -1 for uncategorized
+}
@@ -0,0 +1,23 @@
+package com.mshrestha.goze.dto.report;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Request DTO for aggregated spending. Every field is optional.
+ * User ID is extracted from JWT token for security.
+ */
+@Data
+public class SpendingReportRequest {
+    private LocalDate startDate;                   // inclusive, yyyy-MM-dd
+    private LocalDate endDate;                     // inclusive, yyyy-MM-dd
+    private List<String> groupBy;                  // category, merchant, account, day, week, month; defaults to category
+    private List<String> accountIds;               // Plaid account IDs
+    private List<String> categories;               // Plaid categories
+    private Boolean expensesOnly;                  // defaults to true (amount < 0)
+    private Boolean includeExcludedFromBudget;     // defaults to false
+    private Integer limit;                         // only the groups with the largest absolute totals, largest first;
+                                                   // needs a single category, merchant or account groupBy
+}
@@ -0,0 +1,31 @@
+package com.mshrestha.goze.dto.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Response DTO for aggregated spending: one row per group, with only the grouped keys set.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpendingReportResponse {
+    private List<String> groupBy;
+    private List<SpendingRowDto> rows;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SpendingRowDto {
+        private String category;
+        private String merchant;
+        private String accountId;
+        private String period;            // first day of the day/week/month bucket, yyyy-MM-dd
+        private BigDecimal total;         // signed as stored; expenses are negative
+        private long count;
+    }
+}
@@ -6,7 +6,8 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "accounts", schema = "goze")
+@Table(name = "accounts", schema = "goze",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "account_id"}))
 public class Account {
     
     @Id
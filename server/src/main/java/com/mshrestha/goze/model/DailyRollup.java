@@ -0,0 +1,67 @@
+package com.mshrestha.goze.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Per-day spending totals for one user, account, category and budget flag.
+ * Derived from goze.transactions and kept current by the sync ingest path.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "daily_rollups", schema = "goze")
+@IdClass(DailyRollup.Key.class)
+public class DailyRollup {
+    
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+    
+    @Id
+    @Column(name = "account_id", nullable = false)
+    private String accountId;
+    
+    @Id
+    @Column(name = "category", nullable = false, length = 255)
+    private String category;  // empty string for uncategorized transactions
+    
+    @Id
+    @Column(name = "day", nullable = false)
+    private LocalDate day;
+    
+    @Id
+    @Column(name = "excluded_from_budget", nullable = false)
+    private boolean excludedFromBudget;
+    
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 4)
+    private BigDecimal totalAmount;
+    
+    @Column(name = "txn_count", nullable = false)
+    private long txnCount;
+    
+    @Column(name = "expense_amount", nullable = false, precision = 19, scale = 4)
+    private BigDecimal expenseAmount;  // sum of amounts < 0
+    
+    @Column(name = "expense_count", nullable = false)
+    private long expenseCount;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private UUID userId;
+        private String accountId;
+        private String category;
+        private LocalDate day;
+        private boolean excludedFromBudget;
+    }
+}
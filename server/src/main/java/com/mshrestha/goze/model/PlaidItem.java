@@ -40,6 +40,24 @@ public class PlaidItem {
     @Column(name = "is_active")
     private boolean active = true;
     
+    @Column(name = "last_sync_success_at")
+    private LocalDateTime lastSyncSuccessAt;
+    
+    @Column(name = "last_sync_error_code", length = 100)
+    private String lastSyncErrorCode;
+    
+    @Column(name = "consecutive_sync_failures")
+    private int consecutiveSyncFailures = 0;
+    
+    @Column(name = "sync_backoff_until")
+    private LocalDateTime syncBackoffUntil;
+    
+    @Column(name = "needs_user_action")
+    private boolean needsUserAction = false;  // Parked until the user re-links the item
+    
+    @Column(name = "balances_refreshed_at")
+    private LocalDateTime balancesRefreshedAt;
+    
     @Column(name = "last_updated")
     private LocalDateTime lastUpdated;
     
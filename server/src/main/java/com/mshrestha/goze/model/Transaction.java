@@ -70,6 +70,10 @@ public class Transaction {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Stamped by a database trigger with the owner's data version on every insert and update
+    @Column(name = "change_seq", insertable = false, updatable = false)
+    private Long changeSeq;
+    
     // Constructors
     public Transaction() {}
     
@@ -211,4 +215,8 @@ public class Transaction {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
-}
\ No newline at end of file
+    
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
+}
@@ -0,0 +1,38 @@
+package com.mshrestha.goze.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Record of a deleted transaction, written by a database trigger so clients holding a
+ * change token can learn about removals. Pruned after tombstones.retention.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "transaction_tombstones", schema = "goze")
+public class TransactionTombstone {
+    
+    @Id
+    @Column(name = "transaction_id", nullable = false)
+    private UUID transactionId;
+    
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+    
+    @Column(name = "plaid_transaction_id")
+    private String plaidTransactionId;
+    
+    // Owner's data version at the time of the delete
+    @Column(name = "change_seq", nullable = false)
+    private long changeSeq;
+    
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+}
@@ -54,6 +54,16 @@ public class User implements UserDetails{
     @Column(name = "account_locked_until")
     private LocalDateTime accountLockedUntil;
     
+    // Only ever changed by UserRepository.incrementDataVersion, so saving a stale entity cannot roll it back
+    @Column(name = "data_version", insertable = false, updatable = false,
+            columnDefinition = "bigint not null default 0")
+    private long dataVersion;
+    
+    // Highest change_seq of this user's pruned tombstones; only written by the tombstone prune
+    @Column(name = "tombstones_pruned_through", insertable = false, updatable = false,
+            columnDefinition = "bigint not null default 0")
+    private long tombstonesPrunedThrough;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -0,0 +1,35 @@
+package com.mshrestha.goze.repository;
+
+import com.mshrestha.goze.model.Account;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bulk account writes that are issued as single statements rather than per-entity saves
+ */
+public interface AccountRepositoryCustom {
+    
+    /**
+     * Update the balances of a Plaid item's accounts in one statement.
+     * Null balances and currency codes leave the stored value unchanged, and accounts whose
+     * values are already current are not written.
+     * 
+     * @return Number of account rows whose values changed
+     */
+    int updateBalances(UUID plaidItemId, List<BalanceUpdate> balances);
+    
+    /**
+     * Insert or update accounts by (user_id, account_id) in one batched round trip.
+     * Every column is written from the given entities, including is_active.
+     * 
+     * @return Number of accounts written
+     */
+    int upsertAll(List<Account> accounts);
+    
+    /**
+     * New balance values for one Plaid account
+     */
+    record BalanceUpdate(String accountId, BigDecimal currentBalance, BigDecimal availableBalance, String currencyCode) {}
+}
@@ -0,0 +1,100 @@
+package com.mshrestha.goze.repository;
+
+import com.mshrestha.goze.model.Account;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JDBC implementation of the bulk account writes in AccountRepositoryCustom
+ */
+public class AccountRepositoryCustomImpl implements AccountRepositoryCustom {
+    
+    private static final String UPSERT_SQL =
+        "INSERT INTO goze.accounts (id, user_id, plaid_item_id, account_id, name, mask, official_name, " +
+        "type, subtype, current_balance, available_balance, currency_code, is_active, last_updated) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP) " +
+        "ON CONFLICT (user_id, account_id) DO UPDATE SET " +
+        "plaid_item_id = EXCLUDED.plaid_item_id, name = EXCLUDED.name, mask = EXCLUDED.mask, " +
+        "official_name = EXCLUDED.official_name, type = EXCLUDED.type, subtype = EXCLUDED.subtype, " +
+        "current_balance = EXCLUDED.current_balance, available_balance = EXCLUDED.available_balance, " +
+        "currency_code = EXCLUDED.currency_code, is_active = EXCLUDED.is_active, last_updated = CURRENT_TIMESTAMP";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Override
+    public int upsertAll(List<Account> accounts) {
+        if (accounts.isEmpty()) {
+            return 0;
+        }
+        
+        jdbcTemplate.batchUpdate(UPSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Account account = accounts.get(i);
+                ps.setObject(1, account.getId() != null ? account.getId() : UUID.randomUUID());
+                ps.setObject(2, account.getUserId());
+                ps.setObject(3, account.getPlaidItemId());
+                ps.setString(4, account.getAccountId());
+                ps.setString(5, account.getName());
+                ps.setString(6, account.getMask());
+                ps.setString(7, account.getOfficialName());
+                ps.setString(8, account.getType());
+                ps.setString(9, account.getSubtype());
+                ps.setObject(10, account.getCurrentBalance(), Types.NUMERIC);
+                ps.setObject(11, account.getAvailableBalance(), Types.NUMERIC);
+                ps.setString(12, account.getCurrencyCode());
+                ps.setBoolean(13, account.getActive() == null || account.getActive());
+            }
+            
+            @Override
+            public int getBatchSize() {
+                return accounts.size();
+            }
+        });
+        return accounts.size();
+    }
+    
+    @Override
+    public int updateBalances(UUID plaidItemId, List<BalanceUpdate> balances) {
+        if (balances.isEmpty()) {
+            return 0;
+        }
+        
+        StringBuilder sql = new StringBuilder(
+            "UPDATE goze.accounts AS a SET " +
+            "current_balance = COALESCE(v.current_balance, a.current_balance), " +
+            "available_balance = COALESCE(v.available_balance, a.available_balance), " +
+            "currency_code = COALESCE(v.currency_code, a.currency_code), " +
+            "last_updated = CURRENT_TIMESTAMP " +
+            "FROM (VALUES ");
+        for (int i = 0; i < balances.size(); i++) {
+            sql.append(i == 0 ? "" : ", ")
+               .append("(CAST(? AS VARCHAR), CAST(? AS NUMERIC), CAST(? AS NUMERIC), CAST(? AS VARCHAR))");
+        }
+        sql.append(") AS v(account_id, current_balance, available_balance, currency_code) ")
+           .append("WHERE a.plaid_item_id = ? AND a.account_id = v.account_id ")
+           // Leave rows whose values would not change untouched, so the count reflects real changes
+           .append("AND (a.current_balance IS DISTINCT FROM COALESCE(v.current_balance, a.current_balance) ")
+           .append("OR a.available_balance IS DISTINCT FROM COALESCE(v.available_balance, a.available_balance) ")
+           .append("OR a.currency_code IS DISTINCT FROM COALESCE(v.currency_code, a.currency_code))");
+        
+        return jdbcTemplate.update(sql.toString(), (PreparedStatement ps) -> {
+            int index = 1;
+            for (BalanceUpdate balance : balances) {
+                ps.setString(index++, balance.accountId());
+                ps.setObject(index++, balance.currentBalance(), Types.NUMERIC);
+                ps.setObject(index++, balance.availableBalance(), Types.NUMERIC);
+                ps.setObject(index++, balance.currencyCode(), Types.VARCHAR);
+            }
+            ps.setObject(index, plaidItemId);
+        });
+    }
+}
@@ -0,0 +1,60 @@
+package com.mshrestha.goze.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * SQL building and row mapping shared by the spending aggregation queries
+ */
+final class AggregateSql {
+    
+    private AggregateSql() {
+    }
+    
+    /**
+     * Comma-separated JDBC placeholders for an IN list
+     */
+    static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+    
+    /**
+     * Select-list positions 1..count, for grouping and ordering by the dimension columns
+     */
+    static String positions(int count) {
+        StringBuilder positions = new StringBuilder();
+        for (int i = 1; i <= count; i++) {
+            positions.append(i == 1 ? "" : ", ").append(i);
+        }
+        return positions.toString();
+    }
+    
+    /**
+     * Map a row selected as the dimension keys followed by "total" and "count"
+     */
+    static SpendingAggregate mapAggregate(ResultSet rs, List<SpendingDimension> groupBy) throws SQLException {
+        return new SpendingAggregate(
+            groupBy.contains(SpendingDimension.CATEGORY) ? rs.getString(SpendingDimension.CATEGORY.getKey()) : null,
+            groupBy.contains(SpendingDimension.MERCHANT) ? rs.getString(SpendingDimension.MERCHANT.getKey()) : null,
+            groupBy.contains(SpendingDimension.ACCOUNT) ? rs.getString(SpendingDimension.ACCOUNT.getKey()) : null,
+            period(rs, groupBy),
+            rs.getBigDecimal("total"),
+            rs.getLong("count")
+        );
+    }
+    
+    /**
+     * The bucket date of the aggregation's time dimension, if it has one
+     */
+    private static LocalDate period(ResultSet rs, List<SpendingDimension> groupBy) throws SQLException {
+        for (SpendingDimension dimension : groupBy) {
+            if (dimension.isTime()) {
+                return rs.getObject(dimension.getKey(), LocalDate.class);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,9 @@
+package com.mshrestha.goze.repository;
+
+import com.mshrestha.goze.model.DailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DailyRollupRepository extends JpaRepository<DailyRollup, DailyRollup.Key>, DailyRollupRepositoryCustom {
+}
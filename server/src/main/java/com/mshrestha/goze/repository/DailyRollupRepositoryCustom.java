@@ -0,0 +1,30 @@
+package com.mshrestha.goze.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Maintenance and reporting queries over goze.daily_rollups
+ */
+public interface DailyRollupRepositoryCustom {
+    
+    /**
+     * Recompute a user's rollup rows for the given days from goze.transactions.
+     * Pending inserts, updates and deletes must be flushed first.
+     */
+    void recomputeDays(UUID userId, Collection<LocalDate> days);
+    
+    /**
+     * Replace all of a user's rollup rows with a fresh aggregation of goze.transactions.
+     * Locks the user's row for the rest of the transaction.
+     */
+    void rebuildForUser(UUID userId);
+    
+    /**
+     * Aggregate spending from rollups. The filter must not use amount bounds or the pending flag,
+     * and every dimension must have a rollup expression.
+     */
+    List<SpendingAggregate> aggregate(UUID userId, TransactionFilter filter, List<SpendingDimension> groupBy);
+}
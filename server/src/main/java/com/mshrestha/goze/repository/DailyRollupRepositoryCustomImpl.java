@@ -0,0 +1,106 @@
+package com.mshrestha.goze.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Native SQL implementation of DailyRollupRepositoryCustom.
+ * Rollups are recomputed per affected day rather than adjusted by deltas, so a replayed or
+ * partially applied sync page can never leave them drifted from goze.transactions.
+ */
+public class DailyRollupRepositoryCustomImpl implements DailyRollupRepositoryCustom {
+    
+    private static final String INSERT_ROLLUPS =
+        "INSERT INTO goze.daily_rollups " +
+        "(user_id, account_id, category, day, excluded_from_budget, total_amount, txn_count, expense_amount, expense_count) " +
+        "SELECT t.user_id, t.account_id, COALESCE(t.plaid_category, ''), t.date, COALESCE(t.excluded_from_budget, FALSE), " +
+        "SUM(t.amount), COUNT(*), " +
+        "COALESCE(SUM(t.amount) FILTER (WHERE t.amount < 0), 0), COUNT(*) FILTER (WHERE t.amount < 0) " +
+        "FROM goze.transactions t WHERE t.user_id = ?";
+    
+    private static final String GROUP_ROLLUPS =
+        " GROUP BY t.user_id, t.account_id, COALESCE(t.plaid_category, ''), t.date, COALESCE(t.excluded_from_budget, FALSE)";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Override
+    public void recomputeDays(UUID userId, Collection<LocalDate> days) {
+        if (days.isEmpty()) {
+            return;
+        }
+        String dayList = AggregateSql.placeholders(days.size());
+        
+        List<Object> params = new ArrayList<>(days.size() + 1);
+        params.add(userId);
+        params.addAll(days);
+        
+        jdbcTemplate.update("DELETE FROM goze.daily_rollups WHERE user_id = ? AND day IN (" + dayList + ")",
+            params.toArray());
+        jdbcTemplate.update(INSERT_ROLLUPS + " AND t.date IN (" + dayList + ")" + GROUP_ROLLUPS, params.toArray());
+    }
+    
+    @Override
+    public void rebuildForUser(UUID userId) {
+        // Same row lock that markChanged takes, so a sync chunk cannot interleave with the rebuild
+        jdbcTemplate.queryForList("SELECT id FROM goze.users WHERE id = ? FOR UPDATE", userId);
+        jdbcTemplate.update("DELETE FROM goze.daily_rollups WHERE user_id = ?", userId);
+        jdbcTemplate.update(INSERT_ROLLUPS + GROUP_ROLLUPS, userId);
+    }
+    
+    @Override
+    public List<SpendingAggregate> aggregate(UUID userId, TransactionFilter filter, List<SpendingDimension> groupBy) {
+        boolean expensesOnly = filter != null && Boolean.TRUE.equals(filter.getExpensesOnly());
+        
+        StringBuilder select = new StringBuilder("SELECT ");
+        for (SpendingDimension dimension : groupBy) {
+            select.append(dimension.getRollupExpression()).append(" AS ").append(dimension.getKey()).append(", ");
+        }
+        select.append(expensesOnly
+            ? "SUM(r.expense_amount) AS total, SUM(r.expense_count) AS count"
+            : "SUM(r.total_amount) AS total, SUM(r.txn_count) AS count");
+        select.append(" FROM goze.daily_rollups r WHERE r.user_id = ?");
+        
+        List<Object> params = new ArrayList<>();
+        params.add(userId);
+        if (filter != null) {
+            if (filter.getStartDate() != null) {
+                select.append(" AND r.day >= ?");
+                params.add(filter.getStartDate());
+            }
+            if (filter.getEndDate() != null) {
+                select.append(" AND r.day <= ?");
+                params.add(filter.getEndDate());
+            }
+            if (filter.getAccountIds() != null && !filter.getAccountIds().isEmpty()) {
+                select.append(" AND r.account_id IN (").append(AggregateSql.placeholders(filter.getAccountIds().size())).append(")");
+                params.addAll(filter.getAccountIds());
+            }
+            if (filter.getCategories() != null && !filter.getCategories().isEmpty()) {
+                select.append(" AND r.category IN (").append(AggregateSql.placeholders(filter.getCategories().size())).append(")");
+                params.addAll(filter.getCategories());
+            }
+            if (expensesOnly) {
+                select.append(" AND r.expense_count > 0");
+            }
+            if (filter.getExcludedFromBudget() != null) {
+                select.append(" AND r.excluded_from_budget = ?");
+                params.add(filter.getExcludedFromBudget());
+            }
+        }
+        
+        if (!groupBy.isEmpty()) {
+            String positions = AggregateSql.positions(groupBy.size());
+            select.append(" GROUP BY ").append(positions).append(" ORDER BY ").append(positions);
+        }
+        
+        return jdbcTemplate.query(select.toString(),
+            (rs, rowNum) -> AggregateSql.mapAggregate(rs, groupBy), params.toArray());
+    }
+}
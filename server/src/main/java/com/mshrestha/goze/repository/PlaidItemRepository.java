@@ -2,8 +2,13 @@ package com.mshrestha.goze.repository;
 
 import com.mshrestha.goze.model.PlaidItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -11,6 +16,14 @@ import java.util.UUID;
 @Repository
 public interface PlaidItemRepository extends JpaRepository<PlaidItem, UUID> {
     
+    /**
+     * Find a Plaid item by ID on the primary rather than in the inherited read-only transaction,
+     * which replica routing would send to a replica that may hold a stale sync cursor
+     */
+    @Override
+    @Transactional
+    Optional<PlaidItem> findById(UUID id);
+    
     /**
      * Find all Plaid items for a specific user
      */
@@ -45,4 +58,56 @@ public interface PlaidItemRepository extends JpaRepository<PlaidItem, UUID> {
      * Find all active Plaid items
      */
     List<PlaidItem> findByActiveTrue();
+    
+    /**
+     * Persist the transactions sync cursor for a Plaid item without touching its other columns
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE PlaidItem p SET p.cursor = :cursor, p.lastUpdated = LOCAL DATETIME WHERE p.id = :id")
+    int updateCursor(@Param("id") UUID id, @Param("cursor") String cursor);
+    
+    /**
+     * Find active Plaid items that are not waiting on the user and whose retry backoff has elapsed
+     */
+    @Query("SELECT p FROM PlaidItem p WHERE p.active = true AND p.needsUserAction = false " +
+           "AND (p.syncBackoffUntil IS NULL OR p.syncBackoffUntil <= :now)")
+    List<PlaidItem> findDueForSync(@Param("now") LocalDateTime now);
+    
+    /**
+     * Record a successful sync, clearing any failure state
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE PlaidItem p SET p.lastSyncSuccessAt = :now, p.lastSyncErrorCode = NULL, " +
+           "p.consecutiveSyncFailures = 0, p.syncBackoffUntil = NULL, p.needsUserAction = false WHERE p.id = :id")
+    int recordSyncSuccess(@Param("id") UUID id, @Param("now") LocalDateTime now);
+    
+    /**
+     * Record a failed sync with its error code, retry backoff and whether the user has to re-link the item
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE PlaidItem p SET p.lastSyncErrorCode = :errorCode, p.consecutiveSyncFailures = :failures, " +
+           "p.syncBackoffUntil = :backoffUntil, p.needsUserAction = :needsUserAction WHERE p.id = :id")
+    int recordSyncFailure(@Param("id") UUID id,
+                          @Param("errorCode") String errorCode,
+                          @Param("failures") int failures,
+                          @Param("backoffUntil") LocalDateTime backoffUntil,
+                          @Param("needsUserAction") boolean needsUserAction);
+    
+    /**
+     * Find syncable Plaid items whose account balances were last refreshed before the given time
+     */
+    @Query("SELECT p FROM PlaidItem p WHERE p.active = true AND p.needsUserAction = false " +
+           "AND (p.balancesRefreshedAt IS NULL OR p.balancesRefreshedAt < :refreshedBefore)")
+    List<PlaidItem> findDueForBalanceRefresh(@Param("refreshedBefore") LocalDateTime refreshedBefore);
+    
+    /**
+     * Record when a Plaid item's account balances were refreshed
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE PlaidItem p SET p.balancesRefreshedAt = :now WHERE p.id = :id")
+    int updateBalancesRefreshedAt(@Param("id") UUID id, @Param("now") LocalDateTime now);
 }
\ No newline at end of file
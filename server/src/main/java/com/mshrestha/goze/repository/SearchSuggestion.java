@@ -0,0 +1,7 @@
+package com.mshrestha.goze.repository;
+
+/**
+ * A typeahead suggestion: a merchant or transaction name and how many of the user's transactions carry it
+ */
+public record SearchSuggestion(String label, long count) {
+}
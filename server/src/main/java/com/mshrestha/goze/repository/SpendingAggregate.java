@@ -0,0 +1,20 @@
+package com.mshrestha.goze.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One group of an aggregated spending query. Only the components for the requested
+ * dimensions are set; period is the first day of the day, week or month bucket.
+ * 
+ * @param total Sum of the group's transaction amounts, signed as stored (expenses are negative)
+ * @param count Number of transactions in the group
+ */
+public record SpendingAggregate(
+        String category,
+        String merchant,
+        String accountId,
+        LocalDate period,
+        BigDecimal total,
+        long count) {
+}
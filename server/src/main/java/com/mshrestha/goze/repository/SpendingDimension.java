@@ -0,0 +1,60 @@
+package com.mshrestha.goze.repository;
+
+/**
+ * Dimensions a spending aggregation can be grouped by, with the SQL expression each groups on
+ * in goze.transactions (alias t) and, where available, in goze.daily_rollups (alias r).
+ * At most one time dimension (DAY, WEEK, MONTH) may be used in a single aggregation.
+ */
+public enum SpendingDimension {
+    CATEGORY("category", "t.plaid_category", "NULLIF(r.category, '')", false),
+    MERCHANT("merchant", "COALESCE(t.merchant_name, t.name)", null, false),
+    ACCOUNT("account", "t.account_id", "r.account_id", false),
+    DAY("day", "t.date", "r.day", true),
+    WEEK("week", "CAST(date_trunc('week', t.date) AS DATE)", "CAST(date_trunc('week', r.day) AS DATE)", true),
+    MONTH("month", "CAST(date_trunc('month', t.date) AS DATE)", "CAST(date_trunc('month', r.day) AS DATE)", true);
+    
+    private final String key;
+    private final String expression;
+    private final String rollupExpression;
+    private final boolean time;
+    
+    SpendingDimension(String key, String expression, String rollupExpression, boolean time) {
+        this.key = key;
+        this.expression = expression;
+        this.rollupExpression = rollupExpression;
+        this.time = time;
+    }
+    
+    public String getKey() {
+        return key;
+    }
+    
+    public String getExpression() {
+        return expression;
+    }
+    
+    /**
+     * Expression over goze.daily_rollups, or null if rollups do not keep this dimension
+     */
+    public String getRollupExpression() {
+        return rollupExpression;
+    }
+    
+    public boolean isTime() {
+        return time;
+    }
+    
+    /**
+     * Look up a dimension by its request key
+     * 
+     * @throws IllegalArgumentException if the key does not match any dimension
+     */
+    public static SpendingDimension fromKey(String key) {
+        for (SpendingDimension dimension : values()) {
+            if (dimension.key.equalsIgnoreCase(key)) {
+                return dimension;
+            }
+        }
+        throw new IllegalArgumentException("Unknown group-by dimension: " + key);
+    }
+}
@@ -0,0 +1,421 @@
+package com.mshrestha.goze.repository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column-oriented snapshot of one user's transactions for in-memory analytics.
+ *
+ * Each transaction is a position across parallel primitive arrays: amount in cents, date as an
+ * epoch day, a flag byte, and short dictionary codes for category, merchant and account. A row
+ * takes 19 bytes instead of the entity's BigDecimal, LocalDate and strings. Dictionaries are
+ * sorted, so code order is name order; a null category has no code and is counted in the slot
+ * after the last one. Matching, aggregation and top-N allocate nothing per row: callers pass in
+ * the arrays to fill. Instances are immutable and safe to share between threads.
+ */
+public final class TransactionColumns {
+
+    public static final short NO_VALUE = -1;
+
+    // Dictionary codes are shorts
+    public static final int MAX_DICTIONARY_SIZE = Short.MAX_VALUE;
+
+    private static final byte PENDING = 1;
+    private static final byte EXCLUDED_FROM_BUDGET = 2;
+
+    private final boolean complete;
+    private final int size;
+    private final long[] amountCents;
+    private final int[] epochDay;
+    private final byte[] flags;
+    private final short[] category;
+    private final short[] merchant;
+    private final short[] account;
+    private final String[] categories;
+    private final String[] merchants;
+    private final String[] accounts;
+
+    private TransactionColumns(boolean complete, int size, long[] amountCents, int[] epochDay, byte[] flags,
+                               short[] category, short[] merchant, short[] account,
+                               String[] categories, String[] merchants, String[] accounts) {
+        this.complete = complete;
+        this.size = size;
+        this.amountCents = amountCents;
+        this.epochDay = epochDay;
+        this.flags = flags;
+        this.category = category;
+        this.merchant = merchant;
+        this.account = account;
+        this.categories = categories;
+        this.merchants = merchants;
+        this.accounts = accounts;
+    }
+
+    /**
+     * False if a dictionary outgrew MAX_DICTIONARY_SIZE while building; the snapshot is then
+     * empty and the user's analytics must go to the database
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Whether the snapshot keeps every criterion the filter sets; change-sequence bounds are not kept
+     */
+    public static boolean supports(TransactionFilter filter) {
+        return filter == null || (filter.getChangedAfter() == null && filter.getChangedThrough() == null);
+    }
+
+    /**
+     * Whether aggregations can group by the dimension; time dimensions are bucketed in SQL
+     */
+    public static boolean supports(SpendingDimension dimension) {
+        return dimension == SpendingDimension.CATEGORY
+            || dimension == SpendingDimension.MERCHANT
+            || dimension == SpendingDimension.ACCOUNT;
+    }
+
+    /**
+     * Number of group slots for the dimension: one per dictionary entry plus one for a null value
+     */
+    public int slots(SpendingDimension dimension) {
+        return dictionary(dimension).length + 1;
+    }
+
+    /**
+     * The name behind a group slot, or null for the last (no value) slot
+     */
+    public String label(SpendingDimension dimension, int slot) {
+        String[] dictionary = dictionary(dimension);
+        return slot < dictionary.length ? dictionary[slot] : null;
+    }
+
+    /**
+     * Compile the filter against this snapshot's dictionaries. Accounts and categories the
+     * snapshot has never seen match nothing.
+     *
+     * @throws IllegalArgumentException if the filter uses criteria the snapshot does not keep
+     */
+    public Matcher matcher(TransactionFilter filter) {
+        if (!supports(filter)) {
+            throw new IllegalArgumentException("Change-sequence bounds are not kept in the columnar snapshot");
+        }
+        return new Matcher(this, filter);
+    }
+
+    /**
+     * Write the positions of the matching rows into rows, in snapshot order
+     *
+     * @param rows Array of at least size() elements
+     * @return Number of positions written
+     */
+    public int select(Matcher matcher, int[] rows) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (matcher.matches(i)) {
+                rows[count++] = i;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Sum of the matching rows' amounts, in cents
+     */
+    public long sumCents(Matcher matcher) {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            if (matcher.matches(i)) {
+                total += amountCents[i];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Sum and count the matching rows per group of the dimension, overwriting the arrays
+     *
+     * @param totals Array of slots(dimension) elements, receives cents per slot
+     * @param counts Array of slots(dimension) elements, receives rows per slot
+     */
+    public void sumBy(Matcher matcher, SpendingDimension dimension, long[] totals, int[] counts) {
+        short[] codes = codes(dimension);
+        int noValue = totals.length - 1;
+        Arrays.fill(totals, 0L);
+        Arrays.fill(counts, 0);
+        for (int i = 0; i < size; i++) {
+            if (matcher.matches(i)) {
+                int slot = codes[i] == NO_VALUE ? noValue : codes[i];
+                totals[slot] += amountCents[i];
+                counts[slot]++;
+            }
+        }
+    }
+
+    /**
+     * Write the n non-empty slots with the largest absolute totals into top, largest first.
+     * Ties keep slot (name) order.
+     *
+     * @return Number of slots written, at most n
+     */
+    public static int topN(long[] totals, int[] counts, int n, int[] top) {
+        if (n <= 0) {
+            return 0;
+        }
+        int found = 0;
+        for (int slot = 0; slot < totals.length; slot++) {
+            if (counts[slot] == 0) {
+                continue;
+            }
+            long magnitude = Math.abs(totals[slot]);
+            if (found == n && magnitude <= Math.abs(totals[top[n - 1]])) {
+                continue;
+            }
+
+            // Insertion into the sorted prefix; n is small, so this beats a heap
+            int position = found < n ? found++ : n - 1;
+            while (position > 0 && magnitude > Math.abs(totals[top[position - 1]])) {
+                top[position] = top[position - 1];
+                position--;
+            }
+            top[position] = slot;
+        }
+        return found;
+    }
+
+    /**
+     * The group in a slot as an aggregate, with the dimension's component set
+     */
+    public SpendingAggregate toAggregate(SpendingDimension dimension, int slot, long[] totals, int[] counts) {
+        String label = label(dimension, slot);
+        return new SpendingAggregate(
+            dimension == SpendingDimension.CATEGORY ? label : null,
+            dimension == SpendingDimension.MERCHANT ? label : null,
+            dimension == SpendingDimension.ACCOUNT ? label : null,
+            null,
+            BigDecimal.valueOf(totals[slot], 2),
+            counts[slot]
+        );
+    }
+
+    private short[] codes(SpendingDimension dimension) {
+        return switch (dimension) {
+            case CATEGORY -> category;
+            case MERCHANT -> merchant;
+            case ACCOUNT -> account;
+            default -> throw new IllegalArgumentException("Columnar snapshot cannot group by " + dimension.getKey());
+        };
+    }
+
+    private String[] dictionary(SpendingDimension dimension) {
+        return switch (dimension) {
+            case CATEGORY -> categories;
+            case MERCHANT -> merchants;
+            case ACCOUNT -> accounts;
+            default -> throw new IllegalArgumentException("Columnar snapshot cannot group by " + dimension.getKey());
+        };
+    }
+
+    /**
+     * A TransactionFilter reduced to primitive bounds and per-code masks over one snapshot
+     */
+    public static final class Matcher {
+
+        private final long[] amountCents;
+        private final int[] epochDay;
+        private final byte[] flags;
+        private final short[] category;
+        private final short[] account;
+
+        private final int fromDay;
+        private final int toDay;
+        private final long minCents;
+        private final long maxCents;
+        private final byte flagMask;
+        private final byte flagValue;
+        private final boolean[] accountMask;       // null matches every account
+        private final boolean[] categoryMask;      // null matches every category
+
+        private Matcher(TransactionColumns columns, TransactionFilter filter) {
+            this.amountCents = columns.amountCents;
+            this.epochDay = columns.epochDay;
+            this.flags = columns.flags;
+            this.category = columns.category;
+            this.account = columns.account;
+
+            if (filter == null) {
+                filter = new TransactionFilter();
+            }
+            this.fromDay = filter.getStartDate() != null ? (int) filter.getStartDate().toEpochDay() : Integer.MIN_VALUE;
+            this.toDay = filter.getEndDate() != null ? (int) filter.getEndDate().toEpochDay() : Integer.MAX_VALUE;
+
+            long min = filter.getMinAmount() != null ? toCentsCeiling(filter.getMinAmount()) : Long.MIN_VALUE;
+            long max = filter.getMaxAmount() != null ? toCentsFloor(filter.getMaxAmount()) : Long.MAX_VALUE;
+            if (Boolean.TRUE.equals(filter.getExpensesOnly())) {
+                max = Math.min(max, -1L);
+            }
+            this.minCents = min;
+            this.maxCents = max;
+
+            byte mask = 0;
+            byte value = 0;
+            if (filter.getPending() != null) {
+                mask |= PENDING;
+                value |= filter.getPending() ? PENDING : 0;
+            }
+            if (filter.getExcludedFromBudget() != null) {
+                mask |= EXCLUDED_FROM_BUDGET;
+                value |= filter.getExcludedFromBudget() ? EXCLUDED_FROM_BUDGET : 0;
+            }
+            this.flagMask = mask;
+            this.flagValue = value;
+
+            this.accountMask = mask(columns.accounts, filter.getAccountIds());
+            this.categoryMask = mask(columns.categories, filter.getCategories());
+        }
+
+        boolean matches(int row) {
+            int day = epochDay[row];
+            long cents = amountCents[row];
+            return day >= fromDay && day <= toDay
+                && cents >= minCents && cents <= maxCents
+                && (flags[row] & flagMask) == flagValue
+                && (accountMask == null || accountMask[account[row]])
+                && (categoryMask == null || (category[row] != NO_VALUE && categoryMask[category[row]]));
+        }
+
+        private static boolean[] mask(String[] dictionary, List<String> names) {
+            if (names == null || names.isEmpty()) {
+                return null;
+            }
+            boolean[] mask = new boolean[dictionary.length];
+            for (String name : names) {
+                int code = Arrays.binarySearch(dictionary, name);
+                if (code >= 0) {
+                    mask[code] = true;
+                }
+            }
+            return mask;
+        }
+
+        private static long toCentsCeiling(BigDecimal amount) {
+            return amount.movePointRight(2).setScale(0, RoundingMode.CEILING).longValueExact();
+        }
+
+        private static long toCentsFloor(BigDecimal amount) {
+            return amount.movePointRight(2).setScale(0, RoundingMode.FLOOR).longValueExact();
+        }
+    }
+
+    /**
+     * Accumulates rows in load order; build() sorts the dictionaries and remaps the codes
+     */
+    public static final class Builder {
+
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private final Map<String, Integer> categoryCodes = new HashMap<>();
+        private final Map<String, Integer> merchantCodes = new HashMap<>();
+        private final Map<String, Integer> accountCodes = new HashMap<>();
+
+        private int size;
+        private boolean overflowed;
+        private long[] amountCents = new long[INITIAL_CAPACITY];
+        private int[] epochDay = new int[INITIAL_CAPACITY];
+        private byte[] flags = new byte[INITIAL_CAPACITY];
+        private short[] category = new short[INITIAL_CAPACITY];
+        private short[] merchant = new short[INITIAL_CAPACITY];
+        private short[] account = new short[INITIAL_CAPACITY];
+
+        /**
+         * Add one transaction. Once a dictionary is full further rows are ignored and the
+         * snapshot is built incomplete.
+         */
+        public void add(long cents, int day, boolean pending, boolean excludedFromBudget,
+                        String categoryName, String merchantName, String accountId) {
+            if (overflowed) {
+                return;
+            }
+            short categoryCode = encode(categoryCodes, categoryName);
+            short merchantCode = encode(merchantCodes, merchantName);
+            short accountCode = encode(accountCodes, accountId);
+            if (overflowed) {
+                return;
+            }
+
+            if (size == amountCents.length) {
+                int capacity = size * 2;
+                amountCents = Arrays.copyOf(amountCents, capacity);
+                epochDay = Arrays.copyOf(epochDay, capacity);
+                flags = Arrays.copyOf(flags, capacity);
+                category = Arrays.copyOf(category, capacity);
+                merchant = Arrays.copyOf(merchant, capacity);
+                account = Arrays.copyOf(account, capacity);
+            }
+            amountCents[size] = cents;
+            epochDay[size] = day;
+            flags[size] = (byte) ((pending ? PENDING : 0) | (excludedFromBudget ? EXCLUDED_FROM_BUDGET : 0));
+            category[size] = categoryCode;
+            merchant[size] = merchantCode;
+            account[size] = accountCode;
+            size++;
+        }
+
+        public TransactionColumns build() {
+            if (overflowed) {
+                String[] none = new String[0];
+                return new TransactionColumns(false, 0, new long[0], new int[0], new byte[0],
+                    new short[0], new short[0], new short[0], none, none, none);
+            }
+            String[] categories = sortedRemap(categoryCodes, category);
+            String[] merchants = sortedRemap(merchantCodes, merchant);
+            String[] accounts = sortedRemap(accountCodes, account);
+            return new TransactionColumns(true, size,
+                Arrays.copyOf(amountCents, size), Arrays.copyOf(epochDay, size), Arrays.copyOf(flags, size),
+                Arrays.copyOf(category, size), Arrays.copyOf(merchant, size), Arrays.copyOf(account, size),
+                categories, merchants, accounts);
+        }
+
+        private short encode(Map<String, Integer> codes, String name) {
+            if (name == null) {
+                return NO_VALUE;
+            }
+            Integer code = codes.get(name);
+            if (code == null) {
+                if (codes.size() == MAX_DICTIONARY_SIZE) {
+                    overflowed = true;
+                    return NO_VALUE;
+                }
+                code = codes.size();
+                codes.put(name, code);
+            }
+            return (short) (int) code;
+        }
+
+        /**
+         * Sort the dictionary by name and rewrite the column's codes to match
+         */
+        private String[] sortedRemap(Map<String, Integer> codes, short[] column) {
+            String[] names = codes.keySet().toArray(new String[0]);
+            Arrays.sort(names);
+            short[] remap = new short[names.length];
+            for (int sorted = 0; sorted < names.length; sorted++) {
+                remap[codes.get(names[sorted])] = (short) sorted;
+            }
+            for (int i = 0; i < size; i++) {
+                if (column[i] != NO_VALUE) {
+                    column[i] = remap[column[i]];
+                }
+            }
+            return names;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.mshrestha.goze.repository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Transaction fields a dashboard client can ask for, named as they appear in the response DTO.
+ * 
+ * Each field maps to the JPQL path it is read from, so a sparse request narrows the SQL
+ * column list as well as the serialized output. The row ID and date are always selected
+ * because keyset paging needs them. Paths on alias a come from the transaction's account,
+ * which is joined only when such a field is requested.
+ */
+public enum TransactionField {
+    ACCOUNT_ID("accountId", "t.accountId"),
+    ACCOUNT_NAME("accountName", "a.name"),               // joined from goze.accounts
+    PLAID_TRANSACTION_ID("plaidTransactionId", "t.plaidTransactionId"),
+    AMOUNT("amount", "t.amount"),
+    DATE("date", "t.date"),
+    NAME("name", "t.name"),
+    MERCHANT_NAME("merchantName", "t.merchantName"),
+    PENDING("pending", "t.pending"),
+    PLAID_CATEGORY("plaidCategory", "t.plaidCategory"),
+    LOCATION("location", "t.location"),
+    PAYMENT_META("paymentMeta", "t.paymentMeta"),
+    NOTES("notes", "t.notes"),
+    EXCLUDED_FROM_BUDGET("excludedFromBudget", "t.excludedFromBudget"),
+    CREATED_AT("createdAt", "t.createdAt"),
+    UPDATED_AT("updatedAt", "t.updatedAt");
+    
+    /**
+     * Fields returned when a request does not list any: everything except the JSONB details
+     */
+    public static final Set<TransactionField> DEFAULT =
+        Collections.unmodifiableSet(EnumSet.complementOf(EnumSet.of(LOCATION, PAYMENT_META)));
+    
+    /**
+     * Every field, including the JSONB details
+     */
+    public static final Set<TransactionField> ALL = Collections.unmodifiableSet(EnumSet.allOf(TransactionField.class));
+    
+    private final String fieldName;
+    private final String path;
+    
+    TransactionField(String fieldName, String path) {
+        this.fieldName = fieldName;
+        this.path = path;
+    }
+    
+    public String getFieldName() {
+        return fieldName;
+    }
+    
+    public String getPath() {
+        return path;
+    }
+    
+    /**
+     * Resolve the fields for a request. An empty or missing list means DEFAULT;
+     * includeDetails adds the JSONB location and payment-meta fields either way.
+     * 
+     * @throws IllegalArgumentException if a name does not match any field
+     */
+    public static Set<TransactionField> resolve(Collection<String> names, Boolean includeDetails) {
+        EnumSet<TransactionField> fields = EnumSet.noneOf(TransactionField.class);
+        if (names == null || names.isEmpty()) {
+            fields.addAll(DEFAULT);
+        } else {
+            for (String name : names) {
+                fields.add(fromFieldName(name));
+            }
+        }
+        if (Boolean.TRUE.equals(includeDetails)) {
+            fields.add(LOCATION);
+            fields.add(PAYMENT_META);
+        }
+        return fields;
+    }
+    
+    private static TransactionField fromFieldName(String name) {
+        for (TransactionField field : values()) {
+            if (field.fieldName.equals(name)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown field: " + name);
+    }
+}
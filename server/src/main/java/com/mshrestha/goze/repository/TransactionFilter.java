@@ -0,0 +1,26 @@
+package com.mshrestha.goze.repository;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Optional criteria for querying a user's transactions.
+ * Null or empty criteria are left out of the query entirely.
+ */
+@Data
+public class TransactionFilter {
+    private LocalDate startDate;           // inclusive
+    private LocalDate endDate;             // inclusive
+    private List<String> accountIds;       // Plaid account IDs
+    private List<String> categories;       // matched against plaid_category
+    private BigDecimal minAmount;          // inclusive
+    private BigDecimal maxAmount;          // inclusive
+    private Boolean expensesOnly;          // amount < 0
+    private Boolean pending;
+    private Boolean excludedFromBudget;
+    private Long changedAfter;             // change_seq exclusive lower bound
+    private Long changedThrough;           // change_seq inclusive upper bound
+}
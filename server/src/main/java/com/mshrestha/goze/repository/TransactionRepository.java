@@ -2,23 +2,30 @@ package com.mshrestha.goze.repository;
 
 import com.mshrestha.goze.model.Transaction;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, UUID> {
+public interface TransactionRepository extends JpaRepository<Transaction, UUID>, TransactionRepositoryCustom {
     
     /**
      * Find transaction by user ID and Plaid transaction ID
      */
     Optional<Transaction> findByUserIdAndPlaidTransactionId(UUID userId, String plaidTransactionId);
     
+    /**
+     * Find transactions for a user matching any of the given Plaid transaction IDs
+     */
+    List<Transaction> findByUserIdAndPlaidTransactionIdIn(UUID userId, Collection<String> plaidTransactionIds);
+    
     /**
      * Find all transactions for a user
      */
@@ -49,7 +56,7 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>
     
     
     /**
-     * Find transactions by merchant name (case insensitive)
+     * Find transactions by merchant name (case insensitive); served by the trigram index on lower(merchant_name)
      */
     @Query("SELECT t FROM Transaction t WHERE t.userId = :userId AND LOWER(t.merchantName) LIKE LOWER(CONCAT('%', :merchantName, '%')) ORDER BY t.date DESC")
     List<Transaction> findByUserIdAndMerchantNameContainingIgnoreCase(@Param("userId") UUID userId, 
@@ -73,7 +80,23 @@ public interface TransactionRepository extends JpaRepository<Transaction, UUID>
     List<Transaction> findUnsyncedTransactionsByUserId(@Param("userId") UUID userId);
     
     /**
-     * Delete transactions by Plaid transaction IDs
+     * Distinct dates of a user's transactions matching any of the given Plaid transaction IDs
+     */
+    @Query("SELECT DISTINCT t.date FROM Transaction t WHERE t.userId = :userId AND t.plaidTransactionId IN :plaidTransactionIds")
+    List<LocalDate> findDistinctDatesByUserIdAndPlaidTransactionIdIn(@Param("userId") UUID userId,
+                                                                      @Param("plaidTransactionIds") List<String> plaidTransactionIds);
+    
+    /**
+     * IDs of every user that has at least one transaction
+     */
+    @Query("SELECT DISTINCT t.userId FROM Transaction t")
+    List<UUID> findDistinctUserIds();
+    
+    /**
+     * Delete transactions by Plaid transaction IDs in a single bulk statement
      */
-    void deleteByUserIdAndPlaidTransactionIdIn(UUID userId, List<String> plaidTransactionIds);
+    @Modifying
+    @Query("DELETE FROM Transaction t WHERE t.userId = :userId AND t.plaidTransactionId IN :plaidTransactionIds")
+    int deleteByUserIdAndPlaidTransactionIdIn(@Param("userId") UUID userId, 
+                                              @Param("plaidTransactionIds") List<String> plaidTransactionIds);
 }
\ No newline at end of file
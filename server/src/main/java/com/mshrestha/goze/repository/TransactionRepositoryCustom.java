@@ -0,0 +1,61 @@
+package com.mshrestha.goze.repository;
+
+import com.mshrestha.goze.utils.TransactionPageCursor;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Transaction queries whose shape depends on the request and cannot be expressed as a fixed derived query
+ */
+public interface TransactionRepositoryCustom {
+    
+    /**
+     * Find a user's transactions matching the filter as read-only rows, in keyset order (date desc, id desc).
+     * Only the criteria that are set become predicates, so the planner can use the narrowest index.
+     * 
+     * @param filter Criteria to apply, or null for all of the user's transactions
+     * @param after Keyset position to start after, or null for the first page
+     * @param limit Maximum number of rows to return, or null for no limit
+     * @param fields Fields to select; unselected row components are null
+     */
+    List<TransactionRow> findRows(UUID userId, TransactionFilter filter, TransactionPageCursor after,
+                                  Integer limit, Set<TransactionField> fields);
+    
+    /**
+     * Stream all of a user's transactions as read-only rows in keyset order (date desc, id desc).
+     * Must be consumed inside a transaction; PostgreSQL then serves rows through a
+     * forward-only cursor in fetch-size batches instead of materializing the result.
+     */
+    Stream<TransactionRow> streamRows(UUID userId, Set<TransactionField> fields);
+    
+    /**
+     * Sum and count a user's transactions matching the filter, grouped by the given dimensions,
+     * with a single SQL GROUP BY. Groups are ordered by the dimensions in the order given.
+     */
+    List<SpendingAggregate> aggregate(UUID userId, TransactionFilter filter, List<SpendingDimension> groupBy);
+    
+    /**
+     * Find a user's transactions whose merchant name, name or notes contain the query or closely
+     * match one of its words, best match first. Served by the trigram indexes on those columns.
+     * 
+     * @param query Search text; matched case-insensitively
+     * @param limit Maximum number of rows to return
+     * @param fields Fields to select; unselected row components are null
+     */
+    List<TransactionRow> searchRows(UUID userId, String query, int limit, Set<TransactionField> fields);
+    
+    /**
+     * Distinct merchant or transaction names containing the query, names starting with it first,
+     * then the most frequent
+     */
+    List<SearchSuggestion> suggest(UUID userId, String query, int limit);
+    
+    /**
+     * Load all of a user's transactions into a columnar snapshot with a single projection query.
+     * Must be called inside a transaction so rows arrive in fetch-size batches.
+     */
+    TransactionColumns loadColumns(UUID userId);
+}
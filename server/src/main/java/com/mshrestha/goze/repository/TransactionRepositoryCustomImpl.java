@@ -0,0 +1,317 @@
+package com.mshrestha.goze.repository;
+
+import com.mshrestha.goze.utils.TransactionPageCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * JPQL and native SQL implementation of the dynamic transaction queries in TransactionRepositoryCustom
+ */
+public class TransactionRepositoryCustomImpl implements TransactionRepositoryCustom {
+    
+    // Rows fetched per round trip when streaming
+    private static final int STREAM_FETCH_SIZE = 500;
+    
+    // Amounts and dates arrive already as cents and epoch days, so no BigDecimal or LocalDate is built per row
+    private static final String SELECT_COLUMNS =
+        "SELECT CAST(ROUND(t.amount * 100) AS BIGINT), t.date - DATE '1970-01-01', " +
+        "COALESCE(t.pending, FALSE), COALESCE(t.excluded_from_budget, FALSE), " +
+        "t.plaid_category, COALESCE(t.merchant_name, t.name), t.account_id " +
+        "FROM goze.transactions t WHERE t.user_id = ?";
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Override
+    public List<TransactionRow> findRows(UUID userId, TransactionFilter filter, TransactionPageCursor after,
+                                         Integer limit, Set<TransactionField> fields) {
+        List<TransactionField> columns = selectedColumns(fields);
+        StringBuilder jpql = new StringBuilder(selectRows(columns)).append(" WHERE t.userId = :userId");
+        Map<String, Object> params = new HashMap<>();
+        params.put("userId", userId);
+        
+        if (filter != null) {
+            if (filter.getStartDate() != null) {
+                jpql.append(" AND t.date >= :startDate");
+                params.put("startDate", filter.getStartDate());
+            }
+            if (filter.getEndDate() != null) {
+                jpql.append(" AND t.date <= :endDate");
+                params.put("endDate", filter.getEndDate());
+            }
+            if (filter.getAccountIds() != null && !filter.getAccountIds().isEmpty()) {
+                jpql.append(" AND t.accountId IN :accountIds");
+                params.put("accountIds", filter.getAccountIds());
+            }
+            if (filter.getCategories() != null && !filter.getCategories().isEmpty()) {
+                jpql.append(" AND t.plaidCategory IN :categories");
+                params.put("categories", filter.getCategories());
+            }
+            if (filter.getMinAmount() != null) {
+                jpql.append(" AND t.amount >= :minAmount");
+                params.put("minAmount", filter.getMinAmount());
+            }
+            if (filter.getMaxAmount() != null) {
+                jpql.append(" AND t.amount <= :maxAmount");
+                params.put("maxAmount", filter.getMaxAmount());
+            }
+            if (Boolean.TRUE.equals(filter.getExpensesOnly())) {
+                jpql.append(" AND t.amount < 0");
+            }
+            if (filter.getPending() != null) {
+                jpql.append(" AND t.pending = :pending");
+                params.put("pending", filter.getPending());
+            }
+            if (filter.getExcludedFromBudget() != null) {
+                // Null counts as not excluded, as in the aggregate SQL and the daily rollups
+                jpql.append(" AND COALESCE(t.excludedFromBudget, false) = :excludedFromBudget");
+                params.put("excludedFromBudget", filter.getExcludedFromBudget());
+            }
+            if (filter.getChangedAfter() != null) {
+                jpql.append(" AND t.changeSeq > :changedAfter");
+                params.put("changedAfter", filter.getChangedAfter());
+            }
+            if (filter.getChangedThrough() != null) {
+                jpql.append(" AND t.changeSeq <= :changedThrough");
+                params.put("changedThrough", filter.getChangedThrough());
+            }
+        }
+        
+        if (after != null) {
+            jpql.append(" AND (t.date, t.id) < (:afterDate, :afterId)");
+            params.put("afterDate", after.getDate());
+            params.put("afterId", after.getId());
+        }
+        
+        jpql.append(" ORDER BY t.date DESC, t.id DESC");
+        
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql.toString(), Tuple.class);
+        params.forEach(query::setParameter);
+        if (limit != null) {
+            query.setMaxResults(limit);
+        }
+        return query.getResultList().stream().map(tuple -> toRow(tuple, columns)).toList();
+    }
+    
+    @Override
+    public Stream<TransactionRow> streamRows(UUID userId, Set<TransactionField> fields) {
+        List<TransactionField> columns = selectedColumns(fields);
+        return entityManager.createQuery(
+                selectRows(columns) + " WHERE t.userId = :userId ORDER BY t.date DESC, t.id DESC",
+                Tuple.class)
+            .setParameter("userId", userId)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+            .getResultStream()
+            .map(tuple -> toRow(tuple, columns));
+    }
+    
+    @Override
+    public List<SpendingAggregate> aggregate(UUID userId, TransactionFilter filter, List<SpendingDimension> groupBy) {
+        StringBuilder select = new StringBuilder("SELECT ");
+        for (SpendingDimension dimension : groupBy) {
+            select.append(dimension.getExpression()).append(" AS ").append(dimension.getKey()).append(", ");
+        }
+        select.append("SUM(t.amount) AS total, COUNT(*) AS count FROM goze.transactions t WHERE t.user_id = ?");
+        
+        List<Object> params = new ArrayList<>();
+        params.add(userId);
+        if (filter != null) {
+            if (filter.getStartDate() != null) {
+                select.append(" AND t.date >= ?");
+                params.add(filter.getStartDate());
+            }
+            if (filter.getEndDate() != null) {
+                select.append(" AND t.date <= ?");
+                params.add(filter.getEndDate());
+            }
+            if (filter.getAccountIds() != null && !filter.getAccountIds().isEmpty()) {
+                select.append(" AND t.account_id IN (").append(AggregateSql.placeholders(filter.getAccountIds().size())).append(")");
+                params.addAll(filter.getAccountIds());
+            }
+            if (filter.getCategories() != null && !filter.getCategories().isEmpty()) {
+                select.append(" AND t.plaid_category IN (").append(AggregateSql.placeholders(filter.getCategories().size())).append(")");
+                params.addAll(filter.getCategories());
+            }
+            if (filter.getMinAmount() != null) {
+                select.append(" AND t.amount >= ?");
+                params.add(filter.getMinAmount());
+            }
+            if (filter.getMaxAmount() != null) {
+                select.append(" AND t.amount <= ?");
+                params.add(filter.getMaxAmount());
+            }
+            if (Boolean.TRUE.equals(filter.getExpensesOnly())) {
+                select.append(" AND t.amount < 0");
+            }
+            if (filter.getPending() != null) {
+                select.append(" AND t.pending = ?");
+                params.add(filter.getPending());
+            }
+            if (filter.getExcludedFromBudget() != null) {
+                // Rows written before the column existed are null and count as not excluded
+                select.append(" AND COALESCE(t.excluded_from_budget, FALSE) = ?");
+                params.add(filter.getExcludedFromBudget());
+            }
+        }
+        
+        if (!groupBy.isEmpty()) {
+            String positions = AggregateSql.positions(groupBy.size());
+            select.append(" GROUP BY ").append(positions).append(" ORDER BY ").append(positions);
+        }
+        
+        return jdbcTemplate.query(select.toString(),
+            (rs, rowNum) -> AggregateSql.mapAggregate(rs, groupBy), params.toArray());
+    }
+    
+    @Override
+    public List<TransactionRow> searchRows(UUID userId, String query, int limit, Set<TransactionField> fields) {
+        String text = query.toLowerCase(Locale.ROOT);
+        String pattern = "%" + escapeLike(text) + "%";
+        
+        // Rank in SQL, where the trigram indexes apply, then load just the winning rows
+        List<UUID> rankedIds = jdbcTemplate.queryForList(
+            "SELECT t.id FROM goze.transactions t WHERE t.user_id = ? AND (" +
+            "lower(t.merchant_name) LIKE ? OR lower(t.name) LIKE ? OR lower(t.notes) LIKE ? " +
+            "OR ? <% lower(t.merchant_name) OR ? <% lower(t.name)) " +
+            "ORDER BY GREATEST(" +
+            "word_similarity(?, lower(COALESCE(t.merchant_name, ''))), " +
+            "word_similarity(?, lower(t.name)), " +
+            "word_similarity(?, lower(COALESCE(t.notes, ''))) * 0.8) DESC, t.date DESC, t.id DESC " +
+            "LIMIT ?",
+            UUID.class,
+            userId, pattern, pattern, pattern, text, text, text, text, text, limit);
+        if (rankedIds.isEmpty()) {
+            return List.of();
+        }
+        
+        List<TransactionField> columns = selectedColumns(fields);
+        Map<UUID, TransactionRow> rows = new HashMap<>();
+        entityManager.createQuery(selectRows(columns) + " WHERE t.id IN :ids", Tuple.class)
+            .setParameter("ids", rankedIds)
+            .getResultList()
+            .stream()
+            .map(tuple -> toRow(tuple, columns))
+            .forEach(row -> rows.put(row.id(), row));
+        
+        List<TransactionRow> ranked = new ArrayList<>(rankedIds.size());
+        for (UUID id : rankedIds) {
+            TransactionRow row = rows.get(id);
+            if (row != null) {
+                ranked.add(row);
+            }
+        }
+        return ranked;
+    }
+    
+    @Override
+    public List<SearchSuggestion> suggest(UUID userId, String query, int limit) {
+        String text = escapeLike(query.toLowerCase(Locale.ROOT));
+        String contains = "%" + text + "%";
+        return jdbcTemplate.query(
+            "SELECT s.label, COUNT(*) AS count FROM (" +
+            "SELECT COALESCE(t.merchant_name, t.name) AS label FROM goze.transactions t " +
+            "WHERE t.user_id = ? AND (lower(t.merchant_name) LIKE ? OR lower(t.name) LIKE ?)) s " +
+            "GROUP BY s.label ORDER BY lower(s.label) LIKE ? DESC, COUNT(*) DESC, s.label LIMIT ?",
+            (rs, rowNum) -> new SearchSuggestion(rs.getString("label"), rs.getLong("count")),
+            userId, contains, contains, text + "%", limit);
+    }
+    
+    @Override
+    public TransactionColumns loadColumns(UUID userId) {
+        TransactionColumns.Builder builder = new TransactionColumns.Builder();
+        jdbcTemplate.query(con -> {
+            PreparedStatement statement = con.prepareStatement(SELECT_COLUMNS);
+            statement.setFetchSize(STREAM_FETCH_SIZE);
+            statement.setObject(1, userId);
+            return statement;
+        }, (RowCallbackHandler) rs -> builder.add(rs.getLong(1), rs.getInt(2), rs.getBoolean(3), rs.getBoolean(4),
+            rs.getString(5), rs.getString(6), rs.getString(7)));
+        return builder.build();
+    }
+    
+    /**
+     * Escape LIKE wildcards so user input only ever matches literally
+     */
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+    
+    /**
+     * Columns to select for the requested fields, in select-list order after the row ID.
+     * The date is always selected for keyset paging.
+     */
+    private static List<TransactionField> selectedColumns(Set<TransactionField> fields) {
+        Set<TransactionField> columns = new LinkedHashSet<>();
+        columns.add(TransactionField.DATE);
+        columns.addAll(fields);
+        return new ArrayList<>(columns);
+    }
+    
+    /**
+     * Select clause for the given columns, preceded by the row ID. The account is left joined
+     * (unique per user and Plaid account ID, so rows are never duplicated) only when its name is selected.
+     */
+    private static String selectRows(List<TransactionField> columns) {
+        StringBuilder select = new StringBuilder("SELECT t.id");
+        for (TransactionField column : columns) {
+            select.append(", ").append(column.getPath());
+        }
+        select.append(" FROM Transaction t");
+        if (columns.contains(TransactionField.ACCOUNT_NAME)) {
+            select.append(" LEFT JOIN Account a ON a.accountId = t.accountId AND a.userId = t.userId");
+        }
+        return select.toString();
+    }
+    
+    /**
+     * Build a row from a tuple, leaving components that were not selected null
+     */
+    private static TransactionRow toRow(Tuple tuple, List<TransactionField> columns) {
+        return new TransactionRow(
+            tuple.get(0, UUID.class),
+            value(tuple, columns, TransactionField.ACCOUNT_ID, String.class),
+            value(tuple, columns, TransactionField.ACCOUNT_NAME, String.class),
+            value(tuple, columns, TransactionField.PLAID_TRANSACTION_ID, String.class),
+            value(tuple, columns, TransactionField.AMOUNT, BigDecimal.class),
+            value(tuple, columns, TransactionField.DATE, LocalDate.class),
+            value(tuple, columns, TransactionField.NAME, String.class),
+            value(tuple, columns, TransactionField.MERCHANT_NAME, String.class),
+            value(tuple, columns, TransactionField.PENDING, Boolean.class),
+            value(tuple, columns, TransactionField.PLAID_CATEGORY, String.class),
+            value(tuple, columns, TransactionField.NOTES, String.class),
+            value(tuple, columns, TransactionField.EXCLUDED_FROM_BUDGET, Boolean.class),
+            value(tuple, columns, TransactionField.CREATED_AT, LocalDateTime.class),
+            value(tuple, columns, TransactionField.UPDATED_AT, LocalDateTime.class),
+            value(tuple, columns, TransactionField.LOCATION, String.class),
+            value(tuple, columns, TransactionField.PAYMENT_META, String.class)
+        );
+    }
+    
+    private static <T> T value(Tuple tuple, List<TransactionField> columns, TransactionField field, Class<T> type) {
+        int index = columns.indexOf(field);
+        return index >= 0 ? tuple.get(index + 1, type) : null;
+    }
+}
@@ -0,0 +1,32 @@
+package com.mshrestha.goze.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only projection of a transaction for dashboard views.
+ * 
+ * Rows are built directly from the selected columns, so they never enter the persistence
+ * context. Only the ID and date are always present; every other component is null unless
+ * its TransactionField was requested.
+ */
+public record TransactionRow(
+        UUID id,
+        String accountId,
+        String accountName,
+        String plaidTransactionId,
+        BigDecimal amount,
+        LocalDate date,
+        String name,
+        String merchantName,
+        Boolean pending,
+        String plaidCategory,
+        String notes,
+        Boolean excludedFromBudget,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        String location,
+        String paymentMeta) {
+}
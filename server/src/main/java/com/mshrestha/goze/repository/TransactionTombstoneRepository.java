@@ -0,0 +1,42 @@
+package com.mshrestha.goze.repository;
+
+import com.mshrestha.goze.model.TransactionTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface TransactionTombstoneRepository extends JpaRepository<TransactionTombstone, UUID> {
+    
+    /**
+     * Plaid IDs of a user's transactions deleted after one change token, up to and including another
+     */
+    @Query("SELECT t.plaidTransactionId FROM TransactionTombstone t WHERE t.userId = :userId " +
+           "AND t.changeSeq > :changedAfter AND t.changeSeq <= :changedThrough ORDER BY t.changeSeq")
+    List<String> findRemovedPlaidTransactionIds(@Param("userId") UUID userId,
+                                                @Param("changedAfter") long changedAfter,
+                                                @Param("changedThrough") long changedThrough,
+                                                Pageable pageable);
+    
+    /**
+     * Delete tombstones recorded more than the given number of seconds ago, measured by the
+     * database clock that stamped them, raising each affected user's
+     * tombstones_pruned_through to the highest change_seq deleted, in one statement
+     * 
+     * @return Number of users whose tombstones were pruned
+     */
+    @Modifying
+    @Query(value = "WITH pruned AS (" +
+                   "DELETE FROM goze.transaction_tombstones WHERE deleted_at < NOW() - make_interval(secs => :retentionSeconds) RETURNING user_id, change_seq) " +
+                   "UPDATE goze.users u SET tombstones_pruned_through = GREATEST(u.tombstones_pruned_through, p.max_seq) " +
+                   "FROM (SELECT user_id, MAX(change_seq) AS max_seq FROM pruned GROUP BY user_id) p " +
+                   "WHERE u.id = p.user_id",
+           nativeQuery = true)
+    int pruneOlderThan(@Param("retentionSeconds") long retentionSeconds);
+}
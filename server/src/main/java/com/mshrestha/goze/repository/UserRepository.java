@@ -2,15 +2,37 @@ package com.mshrestha.goze.repository;
 
 import com.mshrestha.goze.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
+    // Read-write so it always runs on the primary: the data version it loads keys caches and ETags
+    @Transactional
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+    
+    /**
+     * Bump the user's dashboard data version
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.dataVersion = u.dataVersion + 1 WHERE u.id = :userId")
+    int incrementDataVersion(@Param("userId") UUID userId);
+    
+    // Read-write so it runs on the primary: a lagging replica could return a token older than the rows it announces
+    @Transactional
+    @Query("SELECT u.dataVersion FROM User u WHERE u.id = :userId")
+    Optional<Long> findDataVersionById(@Param("userId") UUID userId);
+    
+    @Query("SELECT u.tombstonesPrunedThrough FROM User u WHERE u.id = :userId")
+    long findTombstonesPrunedThrough(@Param("userId") UUID userId);
 } 
\ No newline at end of file
@@ -0,0 +1,115 @@
+package com.mshrestha.goze.scheduler;
+
+import com.mshrestha.goze.dto.plaid.api.PlaidAccountsResponse;
+import com.mshrestha.goze.model.PlaidItem;
+import com.mshrestha.goze.repository.PlaidItemRepository;
+import com.mshrestha.goze.service.AccountService;
+import com.mshrestha.goze.service.PlaidItemSyncStateService;
+import com.mshrestha.goze.service.PlaidService;
+import com.mshrestha.goze.utils.exception.PlaidApiException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Scheduler that keeps account balances current after the initial link.
+ * Items are refreshed through /accounts/get in parallel batches. Items refreshed within the
+ * minimum interval, and items parked until the user re-links them, are skipped.
+ */
+@Component
+public class BalanceRefreshScheduler {
+    
+    private static final Logger logger = LoggerFactory.getLogger(BalanceRefreshScheduler.class);
+    
+    @Autowired
+    private PlaidService plaidService;
+    
+    @Autowired
+    private AccountService accountService;
+    
+    @Autowired
+    private PlaidItemRepository plaidItemRepository;
+    
+    @Autowired
+    private PlaidItemSyncStateService plaidItemSyncStateService;
+    
+    @Autowired
+    @Qualifier("balanceRefreshExecutor")
+    private ThreadPoolTaskExecutor balanceRefreshExecutor;
+    
+    @Value("${sync.balance-refresh.min-interval:1h}")
+    private Duration minInterval;
+    
+    @Value("${sync.balance-refresh.batch-size:8}")
+    private int batchSize;
+    
+    /**
+     * Scheduled task to refresh balances for every item not refreshed within the minimum interval
+     */
+    @Scheduled(cron = "${sync.balance-refresh.cron:0 */15 * * * ?}")
+    public void refreshAllBalances() {
+        logger.info("Starting scheduled balance refresh at: {}", LocalDateTime.now());
+        
+        try {
+            List<PlaidItem> dueItems = plaidItemRepository
+                .findDueForBalanceRefresh(LocalDateTime.now().minus(minInterval));
+            logger.info("Found {} Plaid items due for a balance refresh", dueItems.size());
+            
+            AtomicInteger successCount = new AtomicInteger();
+            AtomicInteger errorCount = new AtomicInteger();
+            
+            // Each batch is fetched concurrently; the next batch starts once the current one finishes
+            for (int from = 0; from < dueItems.size(); from += batchSize) {
+                List<PlaidItem> batch = dueItems.subList(from, Math.min(from + batchSize, dueItems.size()));
+                CompletableFuture<?>[] refreshes = batch.stream()
+                    .map(item -> CompletableFuture.runAsync(() -> {
+                        if (refreshBalancesForItem(item)) {
+                            successCount.incrementAndGet();
+                        } else {
+                            errorCount.incrementAndGet();
+                        }
+                    }, balanceRefreshExecutor))
+                    .toArray(CompletableFuture[]::new);
+                CompletableFuture.allOf(refreshes).join();
+            }
+            
+            logger.info("Balance refresh completed. Success: {}, Errors: {}", successCount.get(), errorCount.get());
+            
+        } catch (Exception e) {
+            logger.error("Failed to execute scheduled balance refresh", e);
+        }
+    }
+    
+    /**
+     * Fetch current balances for one item and write them back in a single statement
+     */
+    private boolean refreshBalancesForItem(PlaidItem item) {
+        try {
+            PlaidAccountsResponse accountsResponse = plaidService.getAccounts(item.getAccessToken());
+            accountService.refreshBalancesFromPlaid(item.getUserId(), item.getId(), accountsResponse);
+            plaidItemRepository.updateBalancesRefreshedAt(item.getId(), LocalDateTime.now());
+            return true;
+            
+        } catch (Exception e) {
+            logger.error("Failed to refresh balances for item: {} (user: {})", item.getItemId(), item.getUserId(), e);
+            
+            // Errors that need the user to re-link park the item for transaction sync as well
+            PlaidApiException plaidError = PlaidApiException.findIn(e);
+            if (plaidError != null && plaidError.requiresUserAction()) {
+                plaidItemSyncStateService.recordFailure(item, e);
+            }
+            return false;
+        }
+    }
+}
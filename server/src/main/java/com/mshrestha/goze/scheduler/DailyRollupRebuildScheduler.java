@@ -0,0 +1,60 @@
+package com.mshrestha.goze.scheduler;
+
+import com.mshrestha.goze.repository.TransactionRepository;
+import com.mshrestha.goze.service.TransactionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Scheduler that periodically rebuilds the daily spending rollups.
+ * Sync ingest keeps rollups current day by day; the rebuild repairs anything written outside
+ * that path, such as manual data fixes. Each user is rebuilt in its own transaction.
+ */
+@Component
+public class DailyRollupRebuildScheduler {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DailyRollupRebuildScheduler.class);
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    /**
+     * Scheduled task to rebuild rollups for every user with transactions
+     */
+    @Scheduled(cron = "${rollups.rebuild.cron:0 30 3 * * ?}")
+    public void rebuildAllRollups() {
+        logger.info("Starting scheduled daily rollup rebuild at: {}", LocalDateTime.now());
+        
+        try {
+            List<UUID> userIds = transactionRepository.findDistinctUserIds();
+            
+            int successCount = 0;
+            int errorCount = 0;
+            
+            for (UUID userId : userIds) {
+                try {
+                    transactionService.rebuildDailyRollups(userId);
+                    successCount++;
+                } catch (Exception e) {
+                    logger.error("Failed to rebuild daily rollups for user: {}", userId, e);
+                    errorCount++;
+                }
+            }
+            
+            logger.info("Daily rollup rebuild completed. Success: {}, Errors: {}", successCount, errorCount);
+            
+        } catch (Exception e) {
+            logger.error("Failed to execute scheduled daily rollup rebuild", e);
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.mshrestha.goze.scheduler;
+
+import com.mshrestha.goze.dto.plaid.api.TransactionSyncResponse;
+import com.mshrestha.goze.model.PlaidItem;
+import com.mshrestha.goze.repository.PlaidItemRepository;
+import com.mshrestha.goze.service.PlaidService;
+import com.mshrestha.goze.service.TransactionService;
+import com.mshrestha.goze.service.TransactionsSyncedEvent;
+import com.mshrestha.goze.utils.exception.PlaidApiException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Two-stage pipeline that syncs the transactions of a single Plaid item.
+ *
+ * The fetch stage pages through /transactions/sync on a background thread and hands
+ * each page to the persist stage through a bounded queue. The calling thread persists
+ * pages in the order they were fetched, so page N+1 downloads while page N is written.
+ * When the queue is full the fetch stage blocks, which bounds the number of pages held
+ * in memory.
+ *
+ * The item cursor is committed only once Plaid reports has_more=false. Until then the
+ * stored cursor stays at the start of the pagination loop, which is where Plaid requires
+ * a restart when the item changes mid-pagination, and where the next sync resumes if this
+ * one fails. Pages stored before a restart are replayed, so ingest treats a replayed
+ * added transaction as an update.
+ */
+@Component
+public class TransactionSyncPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionSyncPipeline.class);
+
+    // How often the persist stage checks that the fetch stage is still running while it waits
+    private static final long HAND_OFF_POLL_MS = 1000;
+
+    // Restarts after TRANSACTIONS_SYNC_MUTATION_DURING_PAGINATION before the sync is failed and retried later
+    private static final int MAX_PAGINATION_RESTARTS = 3;
+
+    @Autowired
+    private PlaidService plaidService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private PlaidItemRepository plaidItemRepository;
+
+    @Autowired
+    @Qualifier("syncFetchExecutor")
+    private AsyncTaskExecutor syncFetchExecutor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${sync.pipeline.queue-capacity:2}")
+    private int queueCapacity;
+
+    @Value("${sync.pipeline.page-size:500}")
+    private int pageSize;
+
+    /**
+     * Sync all pending transaction updates for a Plaid item, starting from its stored cursor.
+     *
+     * @param item The Plaid item to sync
+     * @return Counts of the pages and transactions that were persisted
+     */
+    public Result run(PlaidItem item) {
+        BlockingQueue<Page> handOff = new ArrayBlockingQueue<>(queueCapacity);
+        Result result = new Result();
+        long startNanos = System.nanoTime();
+
+        Future<?> fetchTask = syncFetchExecutor.submit(() -> fetchPages(item, handOff, result));
+        try {
+            while (true) {
+                Page page = nextPage(handOff, fetchTask, item);
+                if (page.failure != null) {
+                    throw new RuntimeException("Failed to fetch transactions for item: " + item.getItemId(), page.failure);
+                }
+
+                long persistStart = System.nanoTime();
+                persistPage(item, page, result);
+                result.persistNanos += System.nanoTime() - persistStart;
+
+                if (page.last) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while syncing transactions for item: " + item.getItemId(), e);
+        } finally {
+            // Stops the fetch stage if the persist stage failed part way through
+            fetchTask.cancel(true);
+        }
+
+        result.wallNanos = System.nanoTime() - startNanos;
+        recordMetrics(result);
+
+        // Every page is committed by now, so listeners see the new rows
+        if (result.added + result.modified + result.removed > 0) {
+            eventPublisher.publishEvent(new TransactionsSyncedEvent(
+                item.getUserId(), item.getId(), result.added, result.modified, result.removed));
+        }
+
+        logger.info("Synced {} pages for item: {} (added: {}, modified: {}, removed: {}, overlap: {} ms)",
+                   result.pages, item.getItemId(), result.added, result.modified, result.removed,
+                   TimeUnit.NANOSECONDS.toMillis(result.getOverlapNanos()));
+        return result;
+    }
+
+    /**
+     * Wait for the next page, failing instead of blocking forever if the fetch stage ended
+     * without handing off a page or a failure (e.g. it was cancelled before it started)
+     */
+    private Page nextPage(BlockingQueue<Page> handOff, Future<?> fetchTask, PlaidItem item) throws InterruptedException {
+        while (true) {
+            Page page = handOff.poll(HAND_OFF_POLL_MS, TimeUnit.MILLISECONDS);
+            if (page != null) {
+                return page;
+            }
+            if (fetchTask.isDone()) {
+                // The stage may have handed off its last page just before finishing
+                page = handOff.poll();
+                if (page != null) {
+                    return page;
+                }
+                throw new IllegalStateException("Fetch stage ended without a result for item: " + item.getItemId());
+            }
+        }
+    }
+
+    /**
+     * Fetch stage: request pages until Plaid reports no more updates, handing each one off in order
+     */
+    private void fetchPages(PlaidItem item, BlockingQueue<Page> handOff, Result result) {
+        String startCursor = item.getCursor();
+        String cursor = startCursor;
+        try {
+            boolean hasMore = true;
+            while (hasMore) {
+                long fetchStart = System.nanoTime();
+                TransactionSyncResponse response;
+                try {
+                    response = plaidService.syncTransactions(item.getAccessToken(), cursor, pageSize);
+                } catch (RuntimeException e) {
+                    PlaidApiException plaidError = PlaidApiException.findIn(e);
+                    if (plaidError == null || !plaidError.isSyncMutationDuringPagination()
+                            || result.restarts >= MAX_PAGINATION_RESTARTS) {
+                        throw e;
+                    }
+                    // Plaid's rule: start the whole loop again from the cursor it began with
+                    result.restarts++;
+                    logger.warn("Transactions changed during pagination for item: {}, restarting from its start cursor ({}/{})",
+                               item.getItemId(), result.restarts, MAX_PAGINATION_RESTARTS);
+                    cursor = startCursor;
+                    continue;
+                } finally {
+                    result.fetchNanos += System.nanoTime() - fetchStart;
+                }
+
+                hasMore = Boolean.TRUE.equals(response.getHasMore());
+                cursor = response.getNextCursor();
+                handOff.put(new Page(response, !hasMore, null));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable e) {
+            // Errors too, so the persist stage is never left waiting for a page that will not come
+            try {
+                handOff.put(new Page(null, true, e));
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Persist stage: write one page, and after the last page advance the stored cursor past the loop
+     */
+    private void persistPage(PlaidItem item, Page page, Result result) {
+        TransactionSyncResponse response = page.response;
+        int added = response.getAdded() != null ? response.getAdded().size() : 0;
+        int modified = response.getModified() != null ? response.getModified().size() : 0;
+        int removed = response.getRemoved() != null ? response.getRemoved().size() : 0;
+
+        if (added + modified + removed > 0) {
+            transactionService.processTransactionSync(item.getUserId(), response);
+        }
+
+        // Mid-loop cursors are never stored; a restart or the next sync must begin from the loop's first cursor
+        if (page.last && response.getNextCursor() != null) {
+            plaidItemRepository.updateCursor(item.getId(), response.getNextCursor());
+            item.setCursor(response.getNextCursor());
+        }
+
+        result.pages++;
+        result.added += added;
+        result.modified += modified;
+        result.removed += removed;
+    }
+
+    /**
+     * Record stage timings; overlap is the time saved versus running both stages back to back
+     */
+    private void recordMetrics(Result result) {
+        Timer.builder("goze.sync.pipeline.fetch")
+            .description("Time spent fetching pages from Plaid per item sync")
+            .register(meterRegistry)
+            .record(result.fetchNanos, TimeUnit.NANOSECONDS);
+        Timer.builder("goze.sync.pipeline.persist")
+            .description("Time spent persisting pages per item sync")
+            .register(meterRegistry)
+            .record(result.persistNanos, TimeUnit.NANOSECONDS);
+        Timer.builder("goze.sync.pipeline.wall")
+            .description("Wall-clock time per item sync")
+            .register(meterRegistry)
+            .record(result.wallNanos, TimeUnit.NANOSECONDS);
+        Timer.builder("goze.sync.pipeline.overlap")
+            .description("Fetch and persist time that ran concurrently per item sync")
+            .register(meterRegistry)
+            .record(result.getOverlapNanos(), TimeUnit.NANOSECONDS);
+        meterRegistry.counter("goze.sync.pipeline.pages").increment(result.pages);
+        meterRegistry.counter("goze.sync.pipeline.restarts").increment(result.restarts);
+    }
+
+    /**
+     * A fetched page, or the failure that ended the fetch stage
+     */
+    private static final class Page {
+        private final TransactionSyncResponse response;
+        private final boolean last;
+        private final Throwable failure;
+
+        private Page(TransactionSyncResponse response, boolean last, Throwable failure) {
+            this.response = response;
+            this.last = last;
+            this.failure = failure;
+        }
+    }
+
+    /**
+     * Outcome of a pipelined item sync
+     */
+    public static class Result {
+        private int pages;
+        private int added;
+        private int modified;
+        private int removed;
+        private volatile int restarts;
+        private volatile long fetchNanos;
+        private long persistNanos;
+        private long wallNanos;
+
+        public int getPages() {
+            return pages;
+        }
+
+        public int getAdded() {
+            return added;
+        }
+
+        public int getModified() {
+            return modified;
+        }
+
+        public int getRemoved() {
+            return removed;
+        }
+
+        public int getRestarts() {
+            return restarts;
+        }
+
+        public long getOverlapNanos() {
+            return Math.max(0, fetchNanos + persistNanos - wallNanos);
+        }
+    }
+}
@@ -1,12 +1,8 @@
 package com.mshrestha.goze.scheduler;
 
-import com.mshrestha.goze.dto.plaid.api.TransactionSyncResponse;
-import com.mshrestha.goze.model.Account;
 import com.mshrestha.goze.model.PlaidItem;
 import com.mshrestha.goze.repository.PlaidItemRepository;
-import com.mshrestha.goze.service.AccountService;
-import com.mshrestha.goze.service.PlaidService;
-import com.mshrestha.goze.service.TransactionService;
+import com.mshrestha.goze.service.PlaidItemSyncStateService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,16 +23,13 @@ public class TransactionSyncScheduler {
     private static final Logger logger = LoggerFactory.getLogger(TransactionSyncScheduler.class);
     
     @Autowired
-    private PlaidService plaidService;
+    private TransactionSyncPipeline transactionSyncPipeline;
     
     @Autowired
-    private TransactionService transactionService;
+    private PlaidItemRepository plaidItemRepository;
     
     @Autowired
-    private AccountService accountService;
-    
-    @Autowired
-    private PlaidItemRepository plaidItemRepository;
+    private PlaidItemSyncStateService plaidItemSyncStateService;
     
     /**
      * Scheduled task to sync transactions once daily at midnight.
@@ -47,9 +40,9 @@ public class TransactionSyncScheduler {
         logger.info("Starting scheduled transaction sync at: {}", LocalDateTime.now());
         
         try {
-            // Get all active Plaid items
-            List<PlaidItem> activeItems = plaidItemRepository.findByActiveTrue();
-            logger.info("Found {} active Plaid items to sync", activeItems.size());
+            // Get active Plaid items that are not parked or backing off after a failure
+            List<PlaidItem> activeItems = plaidItemSyncStateService.findItemsDueForSync();
+            logger.info("Found {} active Plaid items due for sync", activeItems.size());
             
             int successCount = 0;
             int errorCount = 0;
@@ -79,29 +72,11 @@ public class TransactionSyncScheduler {
         try {
             logger.debug("Syncing transactions for item: {} (user: {})", item.getItemId(), item.getUserId());
             
-            // Get the cursor for this item (stored in the database or null for first sync)
-            String cursor = item.getCursor();
-            
-            // Sync transactions from Plaid
-            TransactionSyncResponse syncResponse = plaidService.syncTransactions(item.getAccessToken(), cursor);
+            // Fetch and persist every page since the stored cursor; the pipeline commits the cursor after the last page
+            TransactionSyncPipeline.Result result = transactionSyncPipeline.run(item);
+            plaidItemSyncStateService.recordSuccess(item);
             
-            // Process the sync response and update database
-            if (hasTransactionsToProcess(syncResponse)) {
-                // Get accounts for this Plaid item
-                List<Account> accounts = accountService.getAccountsForPlaidItem(item.getId());
-                
-                if (!accounts.isEmpty()) {
-                    // Process transactions for each account
-                    for (Account account : accounts) {
-                        transactionService.processTransactionSync(item.getUserId(), account.getAccountId(), syncResponse);
-                    }
-                } else {
-                    logger.warn("No accounts found for Plaid item: {}, skipping transaction sync", item.getItemId());
-                }
-                
-                // Update the cursor for next sync
-                updateCursorForItem(item, syncResponse.getNextCursor());
-                
+            if (result.getAdded() + result.getModified() + result.getRemoved() > 0) {
                 logger.info("Successfully synced transactions for item: {} (user: {})", 
                            item.getItemId(), item.getUserId());
             } else {
@@ -112,41 +87,11 @@ public class TransactionSyncScheduler {
         } catch (Exception e) {
             logger.error("Error syncing transactions for item: {} (user: {})", 
                        item.getItemId(), item.getUserId(), e);
+            plaidItemSyncStateService.recordFailure(item, e);
             throw e;
         }
     }
     
-    /**
-     * Check if there are transactions to process in the sync response
-     */
-    private boolean hasTransactionsToProcess(TransactionSyncResponse syncResponse) {
-        return (syncResponse.getAdded() != null && !syncResponse.getAdded().isEmpty()) ||
-               (syncResponse.getModified() != null && !syncResponse.getModified().isEmpty()) ||
-               (syncResponse.getRemoved() != null && !syncResponse.getRemoved().isEmpty());
-    }
-    
-    /**
-     * Get the cursor for the next sync for a Plaid item
-     * In a real implementation, this would be stored in the database
-     */
-    private String getCursorForItem(PlaidItem item) {
-        // For now, return null to start from the beginning
-        // In production, you'd store and retrieve the cursor from the database
-        return null;
-    }
-    
-    /**
-     * Update the cursor for the next sync for a Plaid item
-     * In a real implementation, this would be stored in the database
-     */
-    private void updateCursorForItem(PlaidItem item, String nextCursor) {
-        // For now, we don't store the cursor
-        // In production, you'd save the cursor to the database for the next sync
-        if (nextCursor != null) {
-            logger.debug("Updated cursor for item: {} to: {}", item.getItemId(), nextCursor);
-        }
-    }
-    
     /**
      * Manual sync method that can be called programmatically
      */
@@ -158,6 +103,11 @@ public class TransactionSyncScheduler {
             logger.info("Found {} active Plaid items for user: {}", userItems.size(), userId);
             
             for (PlaidItem item : userItems) {
+                if (item.isNeedsUserAction()) {
+                    logger.info("Skipping Plaid item: {} until the user re-links it (error code: {})", 
+                               item.getItemId(), item.getLastSyncErrorCode());
+                    continue;
+                }
                 try {
                     syncTransactionsForItem(item);
                 } catch (Exception e) {
@@ -0,0 +1,44 @@
+package com.mshrestha.goze.scheduler;
+
+import com.mshrestha.goze.service.TransactionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Scheduler that prunes transaction tombstones older than tombstones.retention.
+ * Clients whose change token predates a pruned removal get resetRequired from the changes
+ * endpoint, so the retention only needs to cover how long clients usually go between polls.
+ */
+@Component
+public class TransactionTombstonePruneScheduler {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TransactionTombstonePruneScheduler.class);
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Value("${tombstones.retention:30d}")
+    private Duration retention;
+    
+    /**
+     * Scheduled task to prune expired tombstones for all users
+     */
+    @Scheduled(cron = "${tombstones.prune.cron:0 0 4 * * ?}")
+    public void pruneTombstones() {
+        logger.info("Starting scheduled tombstone prune at: {} (retention: {})", LocalDateTime.now(), retention);
+        
+        try {
+            int users = transactionService.pruneTombstones(retention);
+            logger.info("Tombstone prune completed. Users pruned: {}", users);
+        } catch (Exception e) {
+            logger.error("Failed to execute scheduled tombstone prune", e);
+        }
+    }
+}
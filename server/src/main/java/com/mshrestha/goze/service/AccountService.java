@@ -10,8 +10,14 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -22,8 +28,15 @@ public class AccountService {
     @Autowired
     private AccountRepository accountRepository;
     
+    @Autowired
+    private UserDataVersionService userDataVersionService;
+    
     /**
-     * Process accounts from Plaid and save them to database
+     * Process accounts from Plaid and save them to database.
+     * 
+     * The item's stored accounts are loaded with one query and diffed against the Plaid
+     * response in memory. New and changed accounts, plus stored accounts that Plaid no
+     * longer returns (marked inactive), are then written with one batched upsert.
      */
     @Transactional
     public void processAccountsFromPlaid(UUID userId, UUID plaidItemId, PlaidAccountsResponse accountsResponse) {
@@ -32,10 +45,22 @@ public class AccountService {
                        accountsResponse.getAccounts() != null ?
                        accountsResponse.getAccounts().size() : 0, userId, plaidItemId);
             
+            Map<String, Account> existingAccounts = new HashMap<>();
+            for (Account account : accountRepository.findByPlaidItemId(plaidItemId)) {
+                existingAccounts.put(account.getAccountId(), account);
+            }
+            
+            List<Account> changedAccounts = new ArrayList<>();
+            Set<String> returnedAccountIds = new HashSet<>();
             if (accountsResponse.getAccounts() != null) {
                 for (PlaidAccountsResponse.PlaidAccount plaidAccount : accountsResponse.getAccounts()) {
                     try {
-                        processAccount(userId, plaidItemId, plaidAccount);
+                        returnedAccountIds.add(plaidAccount.getAccountId());
+                        Account existing = existingAccounts.get(plaidAccount.getAccountId());
+                        Account account = processAccount(userId, plaidItemId, existing, plaidAccount);
+                        if (existing == null || hasChanged(existing, account)) {
+                            changedAccounts.add(account);
+                        }
                     } catch (Exception e) {
                         logger.error("Failed to process account: {} for user: {}", 
                                    plaidAccount.getAccountId(), userId, e);
@@ -43,7 +68,24 @@ public class AccountService {
                 }
             }
             
-            logger.info("Successfully processed accounts for user: {}, plaid item: {}", userId, plaidItemId);
+            // Accounts Plaid no longer returns for this item are deactivated in the same upsert
+            int deactivatedCount = 0;
+            for (Account existing : existingAccounts.values()) {
+                if (!returnedAccountIds.contains(existing.getAccountId()) && !Boolean.FALSE.equals(existing.getActive())) {
+                    Account account = copyOf(existing);
+                    account.setActive(false);
+                    changedAccounts.add(account);
+                    deactivatedCount++;
+                }
+            }
+            
+            accountRepository.upsertAll(changedAccounts);
+            if (!changedAccounts.isEmpty()) {
+                userDataVersionService.markChanged(userId);
+            }
+            
+            logger.info("Successfully processed accounts for user: {}, plaid item: {} (written: {}, deactivated: {})", 
+                       userId, plaidItemId, changedAccounts.size(), deactivatedCount);
             
         } catch (Exception e) {
             logger.error("Failed to process accounts for user: {}, plaid item: {}", userId, plaidItemId, e);
@@ -52,40 +94,68 @@ public class AccountService {
     }
     
     /**
-     * Process individual account from Plaid response
+     * Build the desired state of an account from Plaid without modifying the stored entity
      */
-    private void processAccount(UUID userId, UUID plaidItemId, PlaidAccountsResponse.PlaidAccount plaidAccount) {
-        try {
-            // Check if account already exists
-            Optional<Account> existingAccount = accountRepository
-                .findByUserIdAndAccountId(userId, plaidAccount.getAccountId());
-            
-            Account account;
-            if (existingAccount.isPresent()) {
-                // Update existing account
-                account = existingAccount.get();
-                logger.info("Updating existing account: {}", plaidAccount.getAccountId());
-            } else {
-                // Create new account
-                account = new Account();
-                account.setUserId(userId);
-                account.setPlaidItemId(plaidItemId);
-                account.setAccountId(plaidAccount.getAccountId());
-                logger.info("Creating new account: {}", plaidAccount.getAccountId());
-            }
-            
-            // Update/Set account information
-            updateAccountFromPlaid(account, plaidAccount);
-            
-            // Save to database
-            accountRepository.save(account);
-            
-            logger.debug("Successfully saved account: {} for user: {}", account.getAccountId(), userId);
-            
-        } catch (Exception e) {
-            logger.error("Failed to process account: {}", plaidAccount.getAccountId(), e);
-            throw e;
+    private Account processAccount(UUID userId, UUID plaidItemId, Account existing, 
+                                   PlaidAccountsResponse.PlaidAccount plaidAccount) {
+        Account account;
+        if (existing != null) {
+            // Update existing account
+            account = copyOf(existing);
+            logger.debug("Updating existing account: {}", plaidAccount.getAccountId());
+        } else {
+            // Create new account
+            account = new Account();
+            account.setUserId(userId);
+            account.setAccountId(plaidAccount.getAccountId());
+            logger.debug("Creating new account: {}", plaidAccount.getAccountId());
         }
+        
+        // Update/Set account information
+        account.setPlaidItemId(plaidItemId);
+        account.setActive(true);
+        updateAccountFromPlaid(account, plaidAccount);
+        return account;
+    }
+    
+    /**
+     * Detached copy of a stored account, so edits are not picked up by dirty checking
+     */
+    private Account copyOf(Account source) {
+        Account account = new Account(source.getUserId(), source.getPlaidItemId(), source.getAccountId(),
+                                      source.getName(), source.getType());
+        account.setId(source.getId());
+        account.setMask(source.getMask());
+        account.setOfficialName(source.getOfficialName());
+        account.setSubtype(source.getSubtype());
+        account.setCurrentBalance(source.getCurrentBalance());
+        account.setAvailableBalance(source.getAvailableBalance());
+        account.setCurrencyCode(source.getCurrencyCode());
+        account.setActive(source.getActive());
+        return account;
+    }
+    
+    /**
+     * Whether any column written by the upsert differs from the stored account
+     */
+    private boolean hasChanged(Account stored, Account updated) {
+        return !Objects.equals(stored.getPlaidItemId(), updated.getPlaidItemId())
+            || !Objects.equals(stored.getName(), updated.getName())
+            || !Objects.equals(stored.getMask(), updated.getMask())
+            || !Objects.equals(stored.getOfficialName(), updated.getOfficialName())
+            || !Objects.equals(stored.getType(), updated.getType())
+            || !Objects.equals(stored.getSubtype(), updated.getSubtype())
+            || !sameAmount(stored.getCurrentBalance(), updated.getCurrentBalance())
+            || !sameAmount(stored.getAvailableBalance(), updated.getAvailableBalance())
+            || !Objects.equals(stored.getCurrencyCode(), updated.getCurrencyCode())
+            || !Objects.equals(stored.getActive(), updated.getActive());
+    }
+    
+    /**
+     * Compare amounts by value, since stored balances carry the column's scale
+     */
+    private boolean sameAmount(BigDecimal a, BigDecimal b) {
+        return a == null ? b == null : b != null && a.compareTo(b) == 0;
     }
     
     /**
@@ -113,9 +183,41 @@ public class AccountService {
         }
     }
     
+    /**
+     * Refresh stored balances for a Plaid item's accounts with a single bulk update
+     */
+    @Transactional
+    public int refreshBalancesFromPlaid(UUID userId, UUID plaidItemId, PlaidAccountsResponse accountsResponse) {
+        if (accountsResponse.getAccounts() == null || accountsResponse.getAccounts().isEmpty()) {
+            return 0;
+        }
+        
+        List<AccountRepository.BalanceUpdate> balances = new ArrayList<>(accountsResponse.getAccounts().size());
+        for (PlaidAccountsResponse.PlaidAccount plaidAccount : accountsResponse.getAccounts()) {
+            PlaidAccountsResponse.Balances plaidBalances = plaidAccount.getBalances();
+            if (plaidBalances == null) {
+                continue;
+            }
+            balances.add(new AccountRepository.BalanceUpdate(
+                plaidAccount.getAccountId(),
+                plaidBalances.getCurrent() != null ? BigDecimal.valueOf(plaidBalances.getCurrent()) : null,
+                plaidBalances.getAvailable() != null ? BigDecimal.valueOf(plaidBalances.getAvailable()) : null,
+                plaidBalances.getIsoCurrencyCode()
+            ));
+        }
+        
+        int updated = accountRepository.updateBalances(plaidItemId, balances);
+        if (updated > 0) {
+            userDataVersionService.markChanged(userId);
+        }
+        logger.debug("Refreshed balances for {} accounts of plaid item: {}", updated, plaidItemId);
+        return updated;
+    }
+    
     /**
      * Get all accounts for a user
      */
+    @Transactional(readOnly = true)
     public List<Account> getAccountsForUser(UUID userId) {
         return accountRepository.findByUserIdOrderByLastUpdatedDesc(userId);
     }
@@ -151,6 +253,7 @@ public class AccountService {
             Account account = accountOpt.get();
             account.setCurrentBalance(currentBalance);
             account.setAvailableBalance(availableBalance);
+            userDataVersionService.markChanged(userId);
             return accountRepository.save(account);
         }
         throw new RuntimeException("Account not found: " + accountId);
@@ -0,0 +1,90 @@
+package com.mshrestha.goze.service;
+
+import com.mshrestha.goze.model.PlaidItem;
+import com.mshrestha.goze.repository.PlaidItemRepository;
+import com.mshrestha.goze.utils.exception.PlaidApiException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Tracks the sync state of each Plaid item so the sweep only spends Plaid calls on items
+ * that can actually sync.
+ * 
+ * Transient failures put the item into exponential backoff. Plaid errors that need the user
+ * to re-link the item (e.g. ITEM_LOGIN_REQUIRED) park it until the next successful link or sync.
+ */
+@Service
+public class PlaidItemSyncStateService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PlaidItemSyncStateService.class);
+    
+    private static final String INTERNAL_ERROR_CODE = "INTERNAL_ERROR";
+    
+    @Autowired
+    private PlaidItemRepository plaidItemRepository;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${sync.retry.initial-backoff:1m}")
+    private Duration initialBackoff;
+    
+    @Value("${sync.retry.max-backoff:6h}")
+    private Duration maxBackoff;
+    
+    /**
+     * Get the active items that are neither parked nor backing off
+     */
+    public List<PlaidItem> findItemsDueForSync() {
+        return plaidItemRepository.findDueForSync(LocalDateTime.now());
+    }
+    
+    /**
+     * Record a successful sync for an item
+     */
+    public void recordSuccess(PlaidItem item) {
+        plaidItemRepository.recordSyncSuccess(item.getId(), LocalDateTime.now());
+    }
+    
+    /**
+     * Classify a sync failure and either park the item or schedule its next retry
+     */
+    public void recordFailure(PlaidItem item, Exception failure) {
+        PlaidApiException plaidError = PlaidApiException.findIn(failure);
+        String errorCode = plaidError != null && plaidError.getErrorCode() != null
+            ? plaidError.getErrorCode()
+            : INTERNAL_ERROR_CODE;
+        int failures = item.getConsecutiveSyncFailures() + 1;
+        
+        if (plaidError != null && plaidError.requiresUserAction()) {
+            plaidItemRepository.recordSyncFailure(item.getId(), errorCode, failures, null, true);
+            meterRegistry.counter("goze.sync.item.failures", "outcome", "parked").increment();
+            logger.warn("Parking Plaid item: {} (user: {}) until the user re-links it. Error code: {}", 
+                       item.getItemId(), item.getUserId(), errorCode);
+            return;
+        }
+        
+        LocalDateTime backoffUntil = LocalDateTime.now().plus(backoffFor(failures));
+        plaidItemRepository.recordSyncFailure(item.getId(), errorCode, failures, backoffUntil, false);
+        meterRegistry.counter("goze.sync.item.failures", "outcome", "backoff").increment();
+        logger.warn("Backing off Plaid item: {} (user: {}) until {} after {} consecutive failures. Error code: {}", 
+                   item.getItemId(), item.getUserId(), backoffUntil, failures, errorCode);
+    }
+    
+    /**
+     * Exponential backoff: initial, 2x, 4x, ... capped at the maximum
+     */
+    private Duration backoffFor(int failures) {
+        int doublings = Math.min(failures - 1, 30);
+        Duration backoff = initialBackoff.multipliedBy(1L << doublings);
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+}
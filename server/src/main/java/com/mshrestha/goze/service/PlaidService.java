@@ -138,20 +138,28 @@ public class PlaidService {
      * Sync transactions for a Plaid item
      */
     public TransactionSyncResponse syncTransactions(String accessToken, String cursor) {
+        return syncTransactions(accessToken, cursor, null);
+    }
+
+    /**
+     * Sync one page of transactions for a Plaid item, requesting up to count updates
+     * (null uses Plaid's default page size)
+     */
+    public TransactionSyncResponse syncTransactions(String accessToken, String cursor, Integer count) {
         try {
-            logger.info("Syncing transactions for access token: {}", accessToken.substring(0, 8) + "...");
-            
+            logger.debug("Syncing transactions for access token: {}", accessToken.substring(0, 8) + "...");
+
             // Create the API request
             PlaidTransactionSyncRequest apiRequest = new PlaidTransactionSyncRequest(
                 accessToken,
                 cursor,
-                null // count - use default
+                count
             );
             
             // Call Plaid API
             TransactionSyncResponse apiResponse = plaidRestUtility.syncTransactions(apiRequest);
             
-            logger.info("Successfully synced transactions. Added: {}, Modified: {}, Removed: {}", 
+            logger.debug("Successfully synced transactions. Added: {}, Modified: {}, Removed: {}", 
                        apiResponse.getAdded() != null ? apiResponse.getAdded().size() : 0,
                        apiResponse.getModified() != null ? apiResponse.getModified().size() : 0,
                        apiResponse.getRemoved() != null ? apiResponse.getRemoved().size() : 0);
@@ -164,6 +172,13 @@ public class PlaidService {
         }
     }
     
+    /**
+     * Get the accounts and their balances for a Plaid item
+     */
+    public PlaidAccountsResponse getAccounts(String accessToken) {
+        return plaidRestUtility.getAccounts(new PlaidAccountsRequest(accessToken));
+    }
+    
     /**
      * Fetch accounts from Plaid and save them to database
      */
@@ -211,6 +226,12 @@ public class PlaidService {
                 // Update existing item
                 plaidItem = existingItem;
                 plaidItem.setAccessToken(accessToken);
+                
+                // Re-linking resolves whatever parked the item, so let the sync sweep pick it up again
+                plaidItem.setNeedsUserAction(false);
+                plaidItem.setConsecutiveSyncFailures(0);
+                plaidItem.setSyncBackoffUntil(null);
+                plaidItem.setLastSyncErrorCode(null);
                 logger.info("Updating existing Plaid item: {}", plaidItem.getItemId());
             } else {
                 // Create new item
@@ -0,0 +1,15 @@
+package com.mshrestha.goze.service;
+
+import com.mshrestha.goze.repository.TransactionRow;
+
+import java.util.List;
+
+/**
+ * A user's transaction changes between two change tokens
+ * 
+ * @param tombstonesPrunedThrough Removals up to this change token may have been pruned, read
+ *                                after the removals so a concurrent prune is never missed
+ */
+public record TransactionChanges(List<TransactionRow> upserts, List<String> removedPlaidTransactionIds,
+                                 long tombstonesPrunedThrough) {
+}
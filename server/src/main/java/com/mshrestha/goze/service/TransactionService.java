@@ -2,20 +2,45 @@ package com.mshrestha.goze.service;
 
 import com.mshrestha.goze.dto.plaid.api.TransactionSyncResponse;
 import com.mshrestha.goze.model.Transaction;
+import com.mshrestha.goze.repository.DailyRollupRepository;
+import com.mshrestha.goze.repository.SearchSuggestion;
+import com.mshrestha.goze.repository.SpendingAggregate;
+import com.mshrestha.goze.repository.SpendingDimension;
+import com.mshrestha.goze.repository.TransactionColumns;
+import com.mshrestha.goze.repository.TransactionField;
+import com.mshrestha.goze.repository.TransactionFilter;
 import com.mshrestha.goze.repository.TransactionRepository;
+import com.mshrestha.goze.repository.TransactionRow;
+import com.mshrestha.goze.repository.TransactionTombstoneRepository;
+import com.mshrestha.goze.repository.UserRepository;
 import com.mshrestha.goze.utils.GsonUtility;
+import com.mshrestha.goze.utils.TransactionPageCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class TransactionService {
@@ -28,22 +53,57 @@ public class TransactionService {
     @Autowired
     private GsonUtility gsonUtility;
     
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private UserDataVersionService userDataVersionService;
+    
+    @Autowired
+    private DailyRollupRepository dailyRollupRepository;
+    
+    @Autowired
+    private TransactionTombstoneRepository transactionTombstoneRepository;
+    
+    @Autowired
+    private UserDataCache userDataCache;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${sync.persist.chunk-size:200}")
+    private int chunkSize;
+    
     /**
-     * Process transaction sync response and update database
+     * Process one page of a transaction sync response and update database.
+     * Each transaction is stored against the Plaid account it belongs to.
+     * 
+     * Rows are written in chunks of sync.persist.chunk-size, each committed in its own
+     * transaction with the persistence context cleared afterwards, so memory use and lock
+     * hold time do not grow with the page size. If a chunk fails the exception propagates
+     * and the caller does not advance the cursor; chunks already committed are skipped or
+     * reapplied idempotently on the retry.
+     * 
+     * Every chunk bumps the user's data version before writing, so the change-tracking
+     * triggers stamp its rows and tombstones with the version that commits with them.
+     * Each chunk also recomputes the daily rollups of every day it touched, in the same
+     * transaction, so reports read from goze.daily_rollups never see a half-applied chunk.
      */
-    @Transactional
-    public void processTransactionSync(UUID userId, String accountId, TransactionSyncResponse syncResponse) {
+    public void processTransactionSync(UUID userId, TransactionSyncResponse syncResponse) {
         try {
-            logger.info("Processing transaction sync for user: {}, account: {}", userId, accountId);
+            logger.debug("Processing transaction sync for user: {}", userId);
             
             // Process added transactions
             if (syncResponse.getAdded() != null && !syncResponse.getAdded().isEmpty()) {
-                processAddedTransactions(userId, accountId, syncResponse.getAdded());
+                processAddedTransactions(userId, syncResponse.getAdded());
             }
             
             // Process modified transactions
             if (syncResponse.getModified() != null && !syncResponse.getModified().isEmpty()) {
-                processModifiedTransactions(userId, accountId, syncResponse.getModified());
+                processModifiedTransactions(userId, syncResponse.getModified());
             }
             
             // Process removed transactions
@@ -51,10 +111,10 @@ public class TransactionService {
                 processRemovedTransactions(userId, syncResponse.getRemoved());
             }
             
-            logger.info("Successfully processed transaction sync for user: {}, account: {}", userId, accountId);
+            logger.debug("Successfully processed transaction sync for user: {}", userId);
             
         } catch (Exception e) {
-            logger.error("Failed to process transaction sync for user: {}, account: {}", userId, accountId, e);
+            logger.error("Failed to process transaction sync for user: {}", userId, e);
             throw new RuntimeException("Failed to process transaction sync: " + e.getMessage(), e);
         }
     }
@@ -62,62 +122,82 @@ public class TransactionService {
     /**
      * Process added transactions
      */
-    private void processAddedTransactions(UUID userId, String accountId, List<TransactionSyncResponse.Transaction> addedTransactions) {
-        logger.info("Processing {} added transactions for user: {}", addedTransactions.size(), userId);
+    private void processAddedTransactions(UUID userId, List<TransactionSyncResponse.Transaction> addedTransactions) {
+        logger.debug("Processing {} added transactions for user: {}", addedTransactions.size(), userId);
         
-        for (TransactionSyncResponse.Transaction plaidTransaction : addedTransactions) {
-            try {
-                // Check if transaction already exists
-                Optional<Transaction> existingTransaction = transactionRepository
-                    .findByUserIdAndPlaidTransactionId(userId, plaidTransaction.getTransactionId());
+        for (List<TransactionSyncResponse.Transaction> chunk : chunk(addedTransactions)) {
+            transactionTemplate.executeWithoutResult(status -> {
+                // Bump the version before any row changes so the rows are stamped with the new one
+                userDataVersionService.markChanged(userId);
+                // Look up the whole chunk at once instead of one query per transaction
+                Map<String, Transaction> existingTransactions = findExistingTransactions(userId, chunk);
                 
-                if (existingTransaction.isPresent()) {
-                    logger.debug("Transaction {} already exists, skipping", plaidTransaction.getTransactionId());
-                    continue;
+                List<Transaction> storedTransactions = new ArrayList<>(chunk.size());
+                Set<LocalDate> touchedDays = new HashSet<>();
+                for (TransactionSyncResponse.Transaction plaidTransaction : chunk) {
+                    try {
+                        Transaction transaction = existingTransactions.get(plaidTransaction.getTransactionId());
+                        if (transaction != null) {
+                            // A page replayed after a sync restart; Plaid's copy is the newer one
+                            logger.debug("Transaction {} already exists, updating", plaidTransaction.getTransactionId());
+                            touchedDays.add(transaction.getDate());
+                            updateTransactionFromPlaid(transaction, plaidTransaction);
+                        } else {
+                            transaction = createTransactionFromPlaid(userId, plaidTransaction);
+                        }
+                        storedTransactions.add(transaction);
+                        touchedDays.add(transaction.getDate());
+                    } catch (Exception e) {
+                        logger.error("Failed to add transaction: {}", plaidTransaction.getTransactionId(), e);
+                    }
                 }
                 
-                // Create new transaction
-                Transaction transaction = createTransactionFromPlaid(userId, accountId, plaidTransaction);
-                transactionRepository.save(transaction);
-                
-                logger.debug("Added transaction: {}", plaidTransaction.getTransactionId());
-                
-            } catch (Exception e) {
-                logger.error("Failed to add transaction: {}", plaidTransaction.getTransactionId(), e);
-            }
+                transactionRepository.saveAll(storedTransactions);
+                flushAndClear();
+                refreshRollups(userId, touchedDays);
+                logger.debug("Stored {} added transactions for user: {}", storedTransactions.size(), userId);
+            });
         }
     }
     
     /**
      * Process modified transactions
      */
-    private void processModifiedTransactions(UUID userId, String accountId, List<TransactionSyncResponse.Transaction> modifiedTransactions) {
-        logger.info("Processing {} modified transactions for user: {}", modifiedTransactions.size(), userId);
+    private void processModifiedTransactions(UUID userId, List<TransactionSyncResponse.Transaction> modifiedTransactions) {
+        logger.debug("Processing {} modified transactions for user: {}", modifiedTransactions.size(), userId);
         
-        for (TransactionSyncResponse.Transaction plaidTransaction : modifiedTransactions) {
-            try {
-                // Find existing transaction
-                Optional<Transaction> existingTransaction = transactionRepository
-                    .findByUserIdAndPlaidTransactionId(userId, plaidTransaction.getTransactionId());
+        for (List<TransactionSyncResponse.Transaction> chunk : chunk(modifiedTransactions)) {
+            transactionTemplate.executeWithoutResult(status -> {
+                // Bump the version before any row changes so the rows are stamped with the new one
+                userDataVersionService.markChanged(userId);
+                Map<String, Transaction> existingTransactions = findExistingTransactions(userId, chunk);
                 
-                if (existingTransaction.isPresent()) {
-                    // Update existing transaction
-                    Transaction transaction = existingTransaction.get();
-                    updateTransactionFromPlaid(transaction, plaidTransaction);
-                    transactionRepository.save(transaction);
-                    
-                    logger.debug("Updated transaction: {}", plaidTransaction.getTransactionId());
-                } else {
-                    // Create new transaction if it doesn't exist
-                    Transaction transaction = createTransactionFromPlaid(userId, accountId, plaidTransaction);
-                    transactionRepository.save(transaction);
-                    
-                    logger.debug("Created new transaction from modified: {}", plaidTransaction.getTransactionId());
+                List<Transaction> changedTransactions = new ArrayList<>(chunk.size());
+                Set<LocalDate> touchedDays = new HashSet<>();
+                for (TransactionSyncResponse.Transaction plaidTransaction : chunk) {
+                    try {
+                        Transaction transaction = existingTransactions.get(plaidTransaction.getTransactionId());
+                        if (transaction != null) {
+                            // Update existing transaction; a date change moves it out of its old day
+                            touchedDays.add(transaction.getDate());
+                            updateTransactionFromPlaid(transaction, plaidTransaction);
+                        } else {
+                            // Create new transaction if it doesn't exist
+                            transaction = createTransactionFromPlaid(userId, plaidTransaction);
+                            logger.debug("Created new transaction from modified: {}", plaidTransaction.getTransactionId());
+                        }
+                        changedTransactions.add(transaction);
+                        touchedDays.add(transaction.getDate());
+                    } catch (Exception e) {
+                        logger.error("Failed to modify transaction: {}", plaidTransaction.getTransactionId(), e);
+                    }
                 }
                 
-            } catch (Exception e) {
-                logger.error("Failed to modify transaction: {}", plaidTransaction.getTransactionId(), e);
-            }
+                transactionRepository.saveAll(changedTransactions);
+                flushAndClear();
+                refreshRollups(userId, touchedDays);
+                logger.debug("Updated {} transactions for user: {}", changedTransactions.size(), userId);
+            });
         }
     }
     
@@ -125,26 +205,83 @@ public class TransactionService {
      * Process removed transactions
      */
     private void processRemovedTransactions(UUID userId, List<TransactionSyncResponse.RemovedTransaction> removedTransactions) {
-        logger.info("Processing {} removed transactions for user: {}", removedTransactions.size(), userId);
+        logger.debug("Processing {} removed transactions for user: {}", removedTransactions.size(), userId);
         
-        List<String> plaidTransactionIds = new ArrayList<>();
-        for (TransactionSyncResponse.RemovedTransaction removedTransaction : removedTransactions) {
-            plaidTransactionIds.add(removedTransaction.getTransactionId());
+        for (List<TransactionSyncResponse.RemovedTransaction> chunk : chunk(removedTransactions)) {
+            List<String> plaidTransactionIds = new ArrayList<>(chunk.size());
+            for (TransactionSyncResponse.RemovedTransaction removedTransaction : chunk) {
+                plaidTransactionIds.add(removedTransaction.getTransactionId());
+            }
+            
+            Integer removed = transactionTemplate.execute(status -> {
+                // Capture the days before the rows are gone so their rollups can be recomputed
+                List<LocalDate> touchedDays = transactionRepository.findDistinctDatesByUserIdAndPlaidTransactionIdIn(userId, plaidTransactionIds);
+                if (touchedDays.isEmpty()) {
+                    return 0;
+                }
+                userDataVersionService.markChanged(userId);
+                int deleted = transactionRepository.deleteByUserIdAndPlaidTransactionIdIn(userId, plaidTransactionIds);
+                refreshRollups(userId, touchedDays);
+                return deleted;
+            });
+            logger.debug("Removed {} transactions for user: {}", removed, userId);
+        }
+    }
+    
+    /**
+     * Load the stored transactions matching a chunk of Plaid transactions, keyed by Plaid transaction ID
+     */
+    private Map<String, Transaction> findExistingTransactions(UUID userId, List<TransactionSyncResponse.Transaction> chunk) {
+        List<String> plaidTransactionIds = new ArrayList<>(chunk.size());
+        for (TransactionSyncResponse.Transaction plaidTransaction : chunk) {
+            plaidTransactionIds.add(plaidTransaction.getTransactionId());
         }
         
-        if (!plaidTransactionIds.isEmpty()) {
-            transactionRepository.deleteByUserIdAndPlaidTransactionIdIn(userId, plaidTransactionIds);
-            logger.info("Removed {} transactions for user: {}", plaidTransactionIds.size(), userId);
+        Map<String, Transaction> existingTransactions = new HashMap<>();
+        for (Transaction transaction : transactionRepository.findByUserIdAndPlaidTransactionIdIn(userId, plaidTransactionIds)) {
+            existingTransactions.put(transaction.getPlaidTransactionId(), transaction);
+        }
+        return existingTransactions;
+    }
+    
+    /**
+     * Recompute the daily rollups for the days a chunk touched. Runs after markChanged, whose
+     * row lock on the user serializes concurrent chunks for the same user.
+     */
+    private void refreshRollups(UUID userId, Collection<LocalDate> days) {
+        days.remove(null);
+        if (!days.isEmpty()) {
+            dailyRollupRepository.recomputeDays(userId, days);
         }
     }
     
+    /**
+     * Push pending writes to the database and detach everything loaded for the chunk
+     */
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+    
+    /**
+     * Split a list into consecutive chunks of at most the configured chunk size
+     */
+    private <T> List<List<T>> chunk(List<T> items) {
+        int size = Math.max(1, chunkSize);
+        List<List<T>> chunks = new ArrayList<>((items.size() + size - 1) / size);
+        for (int from = 0; from < items.size(); from += size) {
+            chunks.add(items.subList(from, Math.min(from + size, items.size())));
+        }
+        return chunks;
+    }
+    
     /**
      * Create Transaction entity from Plaid transaction
      */
-    private Transaction createTransactionFromPlaid(UUID userId, String accountId, TransactionSyncResponse.Transaction plaidTransaction) {
+    private Transaction createTransactionFromPlaid(UUID userId, TransactionSyncResponse.Transaction plaidTransaction) {
         Transaction transaction = new Transaction();
         transaction.setUserId(userId);
-        transaction.setAccountId(accountId);
+        transaction.setAccountId(plaidTransaction.getAccountId());
         transaction.setPlaidTransactionId(plaidTransaction.getTransactionId());
         transaction.setAmount(BigDecimal.valueOf(plaidTransaction.getAmount()));
         transaction.setDate(LocalDate.parse(plaidTransaction.getDate()));
@@ -198,6 +335,219 @@ public class TransactionService {
         return transactionRepository.findByUserIdOrderByDateDesc(userId);
     }
 
+    /**
+     * Get read-only rows for all of a user's transactions, newest first
+     */
+    @Transactional(readOnly = true)
+    public List<TransactionRow> getTransactionRowsForUser(UUID userId, Set<TransactionField> fields) {
+        return transactionRepository.findRows(userId, null, null, null, fields);
+    }
+    
+    /**
+     * Get read-only rows for a user's expense transactions (amount < 0), newest first
+     */
+    @Transactional(readOnly = true)
+    public List<TransactionRow> getExpenseTransactionRowsForUser(UUID userId, Set<TransactionField> fields) {
+        TransactionFilter filter = new TransactionFilter();
+        filter.setExpensesOnly(true);
+        return transactionRepository.findRows(userId, filter, null, null, fields);
+    }
+    
+    /**
+     * Get up to limit transactions for a user, newest first, starting after the cursor (null for the first page)
+     */
+    @Transactional(readOnly = true)
+    public List<TransactionRow> getTransactionPage(UUID userId, TransactionPageCursor cursor, int limit, Set<TransactionField> fields) {
+        return transactionRepository.findRows(userId, null, cursor, limit, fields);
+    }
+    
+    /**
+     * Get one page of a user's transactions matching the filter, newest first
+     */
+    @Transactional(readOnly = true)
+    public List<TransactionRow> queryTransactions(UUID userId, TransactionFilter filter, TransactionPageCursor cursor,
+                                                  int limit, Set<TransactionField> fields) {
+        return transactionRepository.findRows(userId, filter, cursor, limit, fields);
+    }
+    
+    /**
+     * Search a user's transactions by merchant name, name and notes, best match first
+     */
+    @Transactional(readOnly = true)
+    public List<TransactionRow> searchTransactions(UUID userId, String query, int limit, Set<TransactionField> fields) {
+        return transactionRepository.searchRows(userId, query, limit, fields);
+    }
+    
+    /**
+     * Typeahead suggestions of merchant and transaction names for a partial query
+     */
+    @Transactional(readOnly = true)
+    public List<SearchSuggestion> suggestTransactionNames(UUID userId, String query, int limit) {
+        return transactionRepository.suggest(userId, query, limit);
+    }
+    
+    /**
+     * Transactions inserted or updated, and Plaid IDs of transactions removed, after one change
+     * token up to and including another. Each list holds at most limit entries.
+     */
+    @Transactional(readOnly = true)
+    public TransactionChanges getTransactionChanges(UUID userId, long changedAfter, long changedThrough,
+                                                    int limit, Set<TransactionField> fields) {
+        TransactionFilter filter = new TransactionFilter();
+        filter.setChangedAfter(changedAfter);
+        filter.setChangedThrough(changedThrough);
+        
+        List<TransactionRow> upserts = transactionRepository.findRows(userId, filter, null, limit, fields);
+        List<String> removedIds = transactionTombstoneRepository.findRemovedPlaidTransactionIds(
+            userId, changedAfter, changedThrough, PageRequest.of(0, limit));
+        return new TransactionChanges(upserts, removedIds, userRepository.findTombstonesPrunedThrough(userId));
+    }
+    
+    /**
+     * Delete tombstones older than the retention period, remembering per user how far they were pruned
+     * 
+     * @return Number of users whose tombstones were pruned
+     */
+    @Transactional
+    public int pruneTombstones(Duration retention) {
+        return transactionTombstoneRepository.pruneOlderThan(retention.toSeconds());
+    }
+    
+    /**
+     * Hand each of a user's transactions, newest first, to the consumer without loading them all.
+     * Rows arrive through a server-side cursor as projections outside the persistence context,
+     * so memory stays flat regardless of how many transactions the user has.
+     */
+    @Transactional(readOnly = true)
+    public void streamTransactionsForUser(UUID userId, Set<TransactionField> fields, Consumer<TransactionRow> consumer) {
+        try (Stream<TransactionRow> rows = transactionRepository.streamRows(userId, fields)) {
+            rows.forEach(consumer);
+        }
+    }
+    
+    /**
+     * Sum and count a user's transactions matching the filter, grouped by the given dimensions.
+     * Reads the daily rollups when they hold every dimension and filter used, otherwise scans transactions.
+     */
+    @Transactional(readOnly = true)
+    public List<SpendingAggregate> aggregateSpending(UUID userId, TransactionFilter filter, List<SpendingDimension> groupBy) {
+        if (canUseRollups(filter, groupBy)) {
+            return dailyRollupRepository.aggregate(userId, filter, groupBy);
+        }
+        return transactionRepository.aggregate(userId, filter, groupBy);
+    }
+    
+    /**
+     * Sum and count a user's transactions matching the filter, grouped by the given dimensions.
+     * Reads the daily rollups when they hold every dimension and filter used; otherwise a single
+     * category, merchant or account grouping is answered from the user's columnar snapshot at
+     * the given data version, and anything else scans transactions.
+     */
+    @Transactional(readOnly = true)
+    public List<SpendingAggregate> aggregateSpending(UUID userId, long dataVersion, TransactionFilter filter,
+                                                     List<SpendingDimension> groupBy) {
+        if (!canUseRollups(filter, groupBy) && groupBy.size() == 1
+                && TransactionColumns.supports(groupBy.get(0)) && TransactionColumns.supports(filter)) {
+            TransactionColumns columns = getTransactionColumns(userId, dataVersion);
+            if (columns.isComplete()) {
+                return aggregateColumns(columns, filter, groupBy.get(0), null);
+            }
+        }
+        return aggregateSpending(userId, filter, groupBy);
+    }
+    
+    /**
+     * The groups of a single category, merchant or account grouping with the largest absolute
+     * totals, largest first. Served from the user's columnar snapshot at the given data version
+     * when it holds the filter, otherwise by sorting the SQL aggregation.
+     */
+    @Transactional(readOnly = true)
+    public List<SpendingAggregate> topSpending(UUID userId, long dataVersion, TransactionFilter filter,
+                                               SpendingDimension dimension, int limit) {
+        if (TransactionColumns.supports(dimension) && TransactionColumns.supports(filter)) {
+            TransactionColumns columns = getTransactionColumns(userId, dataVersion);
+            if (columns.isComplete()) {
+                return aggregateColumns(columns, filter, dimension, limit);
+            }
+        }
+        return aggregateSpending(userId, filter, List.of(dimension)).stream()
+            .sorted(Comparator.comparing((SpendingAggregate aggregate) -> aggregate.total().abs()).reversed())
+            .limit(limit)
+            .toList();
+    }
+    
+    /**
+     * Get a user's transactions as a columnar snapshot, cached per data version
+     */
+    @Transactional(readOnly = true)
+    public TransactionColumns getTransactionColumns(UUID userId, long dataVersion) {
+        return userDataCache.getColumns(userId, dataVersion, () -> {
+            TransactionColumns columns = transactionRepository.loadColumns(userId);
+            if (!columns.isComplete()) {
+                logger.warn("User {} has more than {} distinct values in a column; analytics will use SQL",
+                    userId, TransactionColumns.MAX_DICTIONARY_SIZE);
+            }
+            return columns;
+        });
+    }
+    
+    /**
+     * Group the snapshot's matching rows by one dimension, in name order or, with a limit,
+     * the largest absolute totals first. The scan itself allocates nothing per row.
+     */
+    private List<SpendingAggregate> aggregateColumns(TransactionColumns columns, TransactionFilter filter,
+                                                     SpendingDimension dimension, Integer limit) {
+        int slots = columns.slots(dimension);
+        long[] totals = new long[slots];
+        int[] counts = new int[slots];
+        columns.sumBy(columns.matcher(filter), dimension, totals, counts);
+        
+        List<SpendingAggregate> aggregates = new ArrayList<>();
+        if (limit != null) {
+            int[] top = new int[Math.min(limit, slots)];
+            int found = TransactionColumns.topN(totals, counts, top.length, top);
+            for (int i = 0; i < found; i++) {
+                aggregates.add(columns.toAggregate(dimension, top[i], totals, counts));
+            }
+        } else {
+            for (int slot = 0; slot < slots; slot++) {
+                if (counts[slot] > 0) {
+                    aggregates.add(columns.toAggregate(dimension, slot, totals, counts));
+                }
+            }
+        }
+        return aggregates;
+    }
+    
+    /**
+     * Rollups keep totals per account, category, day and budget flag only, so amount bounds,
+     * the pending flag and merchant grouping need the raw transactions
+     */
+    private boolean canUseRollups(TransactionFilter filter, List<SpendingDimension> groupBy) {
+        for (SpendingDimension dimension : groupBy) {
+            if (dimension.getRollupExpression() == null) {
+                return false;
+            }
+        }
+        return filter == null
+            || (filter.getMinAmount() == null && filter.getMaxAmount() == null && filter.getPending() == null);
+    }
+    
+    /**
+     * Rebuild a user's daily rollups from scratch, repairing any drift from goze.transactions
+     */
+    @Transactional
+    public void rebuildDailyRollups(UUID userId) {
+        dailyRollupRepository.rebuildForUser(userId);
+    }
+    
+    /**
+     * Count all transactions for a user
+     */
+    public long countTransactionsForUser(UUID userId) {
+        return transactionRepository.countByUserId(userId);
+    }
+    
     /**
      * Get expense transactions for a user (amount < 0)
      */
@@ -234,6 +584,7 @@ public class TransactionService {
         Optional<Transaction> transactionOpt = transactionRepository.findById(transactionId);
         if (transactionOpt.isPresent()) {
             Transaction transaction = transactionOpt.get();
+            userDataVersionService.markChanged(transaction.getUserId());
             transaction.setNotes(notes);
             return transactionRepository.save(transaction);
         }
@@ -0,0 +1,9 @@
+package com.mshrestha.goze.service;
+
+import java.util.UUID;
+
+/**
+ * Published once a Plaid item sync has committed every page that added, modified or removed transactions
+ */
+public record TransactionsSyncedEvent(UUID userId, UUID plaidItemId, int added, int modified, int removed) {
+}
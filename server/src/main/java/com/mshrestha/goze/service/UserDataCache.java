@@ -0,0 +1,89 @@
+package com.mshrestha.goze.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mshrestha.goze.repository.TransactionColumns;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-process cache of per-user dashboard views (account lists, transaction listings)
+ * and columnar transaction snapshots.
+ * 
+ * Entries are keyed by the user's data version as well as the view, so a load that races
+ * with a write can only ever be cached under the version it was read at; readers that have
+ * seen the newer version miss it. Entries for older versions are evicted once the writing
+ * transaction commits. The cache is weighted by row count and its hit, miss and eviction
+ * statistics are exported as goze.user-data cache metrics.
+ */
+@Component
+public class UserDataCache {
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${cache.user-data.max-rows:200000}")
+    private long maxRows;
+    
+    @Value("${cache.user-data.expire-after-access:30m}")
+    private Duration expireAfterAccess;
+    
+    private Cache<Key, Object> cache;
+    
+    @PostConstruct
+    void initCache() {
+        cache = Caffeine.newBuilder()
+            .maximumWeight(maxRows)
+            .weigher((Key key, Object value) -> Math.max(1, rowCount(value)))
+            .expireAfterAccess(expireAfterAccess)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "goze.user-data");
+    }
+    
+    /**
+     * Get a user's view at the given data version, loading and caching it on a miss.
+     * Concurrent misses for the same key share one load.
+     * 
+     * @param view Name of the view, including any parameters that shape its rows
+     * @return Unmodifiable list of the view's rows
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> get(UUID userId, long dataVersion, String view, Supplier<List<T>> loader) {
+        return (List<T>) cache.get(new Key(userId, dataVersion, view), key -> List.copyOf(loader.get()));
+    }
+    
+    /**
+     * Get a user's columnar transaction snapshot at the given data version, loading and caching it on a miss.
+     * Weighted by its row count like the views.
+     */
+    public TransactionColumns getColumns(UUID userId, long dataVersion, Supplier<TransactionColumns> loader) {
+        return (TransactionColumns) cache.get(new Key(userId, dataVersion, "columns"), key -> loader.get());
+    }
+    
+    /**
+     * Drop every cached view of the user once the change that triggered the event has committed
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserDataChanged(UserDataChangedEvent event) {
+        cache.asMap().keySet().removeIf(key -> key.userId().equals(event.userId()));
+    }
+    
+    private static int rowCount(Object value) {
+        return value instanceof TransactionColumns columns ? columns.size() : ((List<?>) value).size();
+    }
+    
+    private record Key(UUID userId, long dataVersion, String view) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.mshrestha.goze.service;
+
+import java.util.UUID;
+
+/**
+ * Published when data shown on a user's dashboard changes, from within the writing transaction
+ */
+public record UserDataChangedEvent(UUID userId) {
+}
@@ -0,0 +1,35 @@
+package com.mshrestha.goze.service;
+
+import com.mshrestha.goze.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Tracks a per-user data version that changes whenever transactions or accounts shown on
+ * the dashboard are written. Dashboard reads derive their ETags from it, so an unchanged
+ * version lets a request be answered with 304 without touching the transaction table.
+ */
+@Service
+public class UserDataVersionService {
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    /**
+     * Record that the user's dashboard data changed.
+     * Call inside the transaction that writes the change so the bump commits with it;
+     * listeners such as UserDataCache react once that transaction commits.
+     */
+    @Transactional
+    public void markChanged(UUID userId) {
+        userRepository.incrementDataVersion(userId);
+        eventPublisher.publishEvent(new UserDataChangedEvent(userId));
+    }
+}
@@ -0,0 +1,150 @@
+package com.mshrestha.goze.service;
+
+import com.mshrestha.goze.dto.event.StreamReadyMessage;
+import com.mshrestha.goze.dto.event.TransactionsSyncedMessage;
+import com.mshrestha.goze.repository.UserRepository;
+import com.mshrestha.goze.utils.GsonUtility;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Registry of open server-sent event streams, keyed by user.
+ * 
+ * Streams are async servlet responses, so an idle stream holds no request thread. Events are
+ * written on the sseEventExecutor (one virtual thread per send), so a slow client never
+ * stalls the sync pipeline that triggered the event. A comment line is sent on every stream
+ * at a fixed interval to keep proxies from closing idle connections and to detect dead clients.
+ */
+@Service
+public class UserEventStreamService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(UserEventStreamService.class);
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private GsonUtility gsonUtility;
+    
+    @Autowired
+    @Qualifier("sseEventExecutor")
+    private TaskExecutor sseEventExecutor;
+    
+    @Value("${events.stream.timeout:30m}")
+    private Duration streamTimeout;
+    
+    @Value("${events.stream.max-per-user:5}")
+    private int maxStreamsPerUser;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final Map<UUID, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("goze.events.streams", emitters, streams -> streams.values().stream().mapToInt(Set::size).sum())
+            .description("Open server-sent event streams")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Open a stream for a user and send the "ready" event with their current change token
+     * 
+     * @return The emitter, or null if the user already has the maximum number of open streams
+     */
+    public SseEmitter subscribe(UUID userId, long changeToken) {
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        Set<SseEmitter> userEmitters = emitters.compute(userId, (id, existing) -> {
+            Set<SseEmitter> streams = existing != null ? existing : new CopyOnWriteArraySet<>();
+            if (streams.size() < maxStreamsPerUser) {
+                streams.add(emitter);
+            }
+            return streams;
+        });
+        if (!userEmitters.contains(emitter)) {
+            return null;
+        }
+        
+        emitter.onCompletion(() -> remove(userId, emitter));
+        emitter.onTimeout(() -> remove(userId, emitter));
+        emitter.onError(e -> remove(userId, emitter));
+        
+        send(userId, emitter, SseEmitter.event()
+            .name("ready")
+            .data(gsonUtility.toJson(new StreamReadyMessage(changeToken)), MediaType.APPLICATION_JSON));
+        logger.debug("Opened event stream for user: {} ({} open)", userId, userEmitters.size());
+        return emitter;
+    }
+    
+    /**
+     * Push a sync summary to every open stream of the user
+     */
+    @EventListener
+    public void onTransactionsSynced(TransactionsSyncedEvent event) {
+        Set<SseEmitter> userEmitters = emitters.get(event.userId());
+        if (userEmitters == null || userEmitters.isEmpty()) {
+            return;
+        }
+        
+        long changeToken = userRepository.findDataVersionById(event.userId()).orElse(0L);
+        String data = gsonUtility.toJson(new TransactionsSyncedMessage(
+            event.plaidItemId().toString(), event.added(), event.modified(), event.removed(), changeToken));
+        
+        for (SseEmitter emitter : userEmitters) {
+            sseEventExecutor.execute(() -> send(event.userId(), emitter, SseEmitter.event()
+                .name("transactions")
+                .data(data, MediaType.APPLICATION_JSON)));
+        }
+    }
+    
+    /**
+     * Send a heartbeat comment on every open stream
+     */
+    @Scheduled(fixedRateString = "${events.stream.heartbeat-interval-ms:25000}")
+    public void sendHeartbeats() {
+        emitters.forEach((userId, userEmitters) -> {
+            for (SseEmitter emitter : userEmitters) {
+                sseEventExecutor.execute(() -> send(userId, emitter, SseEmitter.event().comment("heartbeat")));
+            }
+        });
+    }
+    
+    private void send(UUID userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // The client went away; completing the emitter releases the async request
+            logger.debug("Dropping event stream for user: {}", userId);
+            remove(userId, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+    
+    private void remove(UUID userId, SseEmitter emitter) {
+        emitters.computeIfPresent(userId, (id, userEmitters) -> {
+            userEmitters.remove(emitter);
+            return userEmitters.isEmpty() ? null : userEmitters;
+        });
+    }
+}
@@ -0,0 +1,51 @@
+package com.mshrestha.goze.utils;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Utility service for CBOR (RFC 8949) serialization of response DTOs.
+ * 
+ * The encoding mirrors the compact Gson output: the same property names, null properties
+ * left out, and UUIDs and dates as strings. Decimals are written as CBOR decimal fractions
+ * and numbers and booleans as native values, so payloads skip JSON's repeated quoting and
+ * number formatting.
+ */
+@Component
+public class CborUtility {
+
+    public static final MediaType APPLICATION_CBOR = MediaType.parseMediaType("application/cbor");
+
+    // Mappers are thread-safe once configured
+    private final CBORMapper mapper;
+
+    public CborUtility() {
+        SimpleModule strings = new SimpleModule();
+        strings.addSerializer(UUID.class, ToStringSerializer.instance);
+        mapper = CBORMapper.builder()
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .addModule(strings)
+                .build();
+    }
+
+    /**
+     * Serializes an object to CBOR bytes.
+     * 
+     * @param object The object to serialize
+     * @return CBOR encoding of the object
+     */
+    public byte[] toCbor(Object object) {
+        try {
+            return mapper.writeValueAsBytes(object);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode CBOR: " + e.getMessage(), e);
+        }
+    }
+}
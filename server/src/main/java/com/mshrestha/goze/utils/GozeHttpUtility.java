@@ -2,6 +2,11 @@ package com.mshrestha.goze.utils;
 
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.List;
 
 /**
  * Utility class for common HTTP-related operations in the Goze application.
@@ -32,4 +37,75 @@ public class GozeHttpUtility {
         }
         return null;
     }
-}
\ No newline at end of file
+    
+    /**
+     * Checks whether the client asked for pretty-printed JSON with ?pretty=true.
+     * 
+     * Responses are compact by default; pretty output is meant for debugging.
+     * 
+     * @param request The HTTP request
+     * @return true if pretty printing was requested
+     */
+    public static boolean isPrettyPrintRequested(HttpServletRequest request) {
+        return "true".equalsIgnoreCase(request.getParameter("pretty"));
+    }
+    
+    /**
+     * Checks whether the client asked for a CBOR response through the Accept header.
+     * JSON stays the default, including for wildcard and missing Accept headers.
+     * 
+     * @param request The HTTP request
+     * @return true if application/cbor is acceptable and preferred over JSON
+     */
+    public static boolean isCborRequested(HttpServletRequest request) {
+        String accept = request.getHeader("Accept");
+        if (accept == null || !accept.contains("cbor")) {
+            return false;
+        }
+        try {
+            List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+            MimeTypeUtils.sortBySpecificity(mediaTypes);
+            for (MediaType mediaType : mediaTypes) {
+                if (mediaType.isWildcardType() || MediaType.APPLICATION_JSON.isCompatibleWith(mediaType)) {
+                    return false;
+                }
+                if (CborUtility.APPLICATION_CBOR.isCompatibleWith(mediaType)) {
+                    return true;
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        return false;
+    }
+    
+    /**
+     * Checks whether the request's If-None-Match header matches the given ETag.
+     * 
+     * Handles lists of tags, the "*" wildcard and weak (W/) validators using weak comparison.
+     * 
+     * @param request The HTTP request
+     * @param etag The current quoted ETag of the resource
+     * @return true if the client's cached copy is still current
+     */
+    public static boolean isNotModified(HttpServletRequest request, String etag) {
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        String current = etag.startsWith("W/") ? etag.substring(2) : etag;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,11 +1,17 @@
 package com.mshrestha.goze.utils;
 
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonWriter;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.lang.reflect.Type;
 
 /**
@@ -20,6 +26,17 @@ public class GsonUtility {
     @Autowired
     private Gson gson;
 
+    // Gson instances are thread-safe and cache their type adapters, so build the pretty variant once
+    private Gson prettyGson;
+
+    @PostConstruct
+    void initPrettyGson() {
+        prettyGson = gson.newBuilder()
+                .setPrettyPrinting()
+                .serializeNulls()
+                .create();
+    }
+
     /**
      * Serializes an object to JSON string.
      * 
@@ -43,13 +60,77 @@ public class GsonUtility {
         if (object == null) {
             return null;
         }
-        Gson prettyGson = new GsonBuilder()
-                .setPrettyPrinting()
-                .serializeNulls()
-                .create();
         return prettyGson.toJson(object);
     }
 
+    /**
+     * Wraps an object for logging so it is serialized to pretty JSON only if the message is
+     * actually written. Use as a log argument: logger.debug("Body: {}", gsonUtility.lazyJson(body)).
+     * 
+     * @param object The object to serialize on demand
+     * @return Log argument whose toString() produces the pretty JSON
+     */
+    public Object lazyJson(Object object) {
+        return new Object() {
+            @Override
+            public String toString() {
+                return toPrettyJson(object);
+            }
+        };
+    }
+
+    /**
+     * Like lazyJson, but produces compact JSON.
+     * 
+     * @param object The object to serialize on demand
+     * @return Log argument whose toString() produces the compact JSON
+     */
+    public Object lazyCompactJson(Object object) {
+        return new Object() {
+            @Override
+            public String toString() {
+                return toJson(object);
+            }
+        };
+    }
+
+    /**
+     * Serializes an API response body. Output is compact unless the current request
+     * opted into pretty printing with ?pretty=true.
+     * 
+     * @param object The object to serialize
+     * @return JSON string representation of the object
+     */
+    public String toResponseJson(Object object) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes
+                && GozeHttpUtility.isPrettyPrintRequested(servletAttributes.getRequest())) {
+            return toPrettyJson(object);
+        }
+        return toJson(object);
+    }
+
+    /**
+     * Creates a JSON writer for streaming output, configured like the shared Gson instance.
+     * 
+     * @param writer The character stream to write to
+     * @return JsonWriter over the given stream
+     */
+    public JsonWriter newJsonWriter(Writer writer) throws IOException {
+        return gson.newJsonWriter(writer);
+    }
+
+    /**
+     * Serializes an object directly onto a streaming JSON writer.
+     * 
+     * @param object The object to serialize
+     * @param typeOfSrc The declared type of the object
+     * @param writer The writer to append the JSON value to
+     */
+    public void toJson(Object object, Type typeOfSrc, JsonWriter writer) {
+        gson.toJson(object, typeOfSrc, writer);
+    }
+
     /**
      * Deserializes JSON string to an object of the specified class.
      * 
@@ -1,12 +1,14 @@
 package com.mshrestha.goze.utils;
 
 import com.mshrestha.goze.dto.plaid.api.*;
+import com.mshrestha.goze.utils.exception.PlaidApiException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
 @Component
@@ -54,6 +56,19 @@ public class PlaidRestUtility {
         return headers;
     }
     
+    /**
+     * Convert a non-2xx Plaid response into a PlaidApiException carrying Plaid's error code
+     */
+    private PlaidApiException toPlaidApiException(String message, HttpStatusCodeException e) {
+        PlaidItemResponse.PlaidError error = gsonUtility.fromJsonSafe(
+            e.getResponseBodyAsString(), PlaidItemResponse.PlaidError.class);
+        String errorType = error != null ? error.getErrorType() : null;
+        String errorCode = error != null ? error.getErrorCode() : null;
+        
+        logger.error("{}. Status: {}, Error type: {}, Error code: {}", message, e.getStatusCode(), errorType, errorCode);
+        return new PlaidApiException(message + ": " + errorCode, e.getStatusCode().value(), errorType, errorCode, e);
+    }
+    
     /**
      * Create link token for Plaid Link
      */
@@ -62,7 +77,7 @@ public class PlaidRestUtility {
             String url = getBaseUrl() + "/link/token/create";
             
             logger.info("Creating link token for user: {}", request.getUser().getClientUserId());
-            logger.debug("Link token request: {}", gsonUtility.toPrettyJson(request));
+            logger.debug("Link token request: {}", gsonUtility.lazyJson(request));
             
             HttpEntity<String> entity = new HttpEntity<>(gsonUtility.toJson(request), createHeaders());
             
@@ -81,6 +96,8 @@ public class PlaidRestUtility {
                 logger.error("Failed to create link token. Status: {}, Body: {}", response.getStatusCode(), response.getBody());
                 throw new RuntimeException("Failed to create link token");
             }
+        } catch (HttpStatusCodeException e) {
+            throw toPlaidApiException("Failed to create link token", e);
         } catch (Exception e) {
             logger.error("Exception while creating link token for user: {}", request.getUser().getClientUserId(), e);
             throw new RuntimeException("Failed to create link token: " + e.getMessage(), e);
@@ -95,7 +112,7 @@ public class PlaidRestUtility {
             String url = getBaseUrl() + "/item/public_token/exchange";
             
             logger.info("Exchanging public token for access token");
-            logger.debug("Exchange token request: {}", gsonUtility.toPrettyJson(request));
+            logger.debug("Exchange token request: {}", gsonUtility.lazyJson(request));
             
             HttpEntity<String> entity = new HttpEntity<>(gsonUtility.toJson(request), createHeaders());
             
@@ -114,6 +131,8 @@ public class PlaidRestUtility {
                 logger.error("Failed to exchange public token. Status: {}, Body: {}", response.getStatusCode(), response.getBody());
                 throw new RuntimeException("Failed to exchange public token");
             }
+        } catch (HttpStatusCodeException e) {
+            throw toPlaidApiException("Failed to exchange public token", e);
         } catch (Exception e) {
             logger.error("Exception while exchanging public token", e);
             throw new RuntimeException("Failed to exchange public token: " + e.getMessage(), e);
@@ -128,7 +147,7 @@ public class PlaidRestUtility {
             String url = getBaseUrl() + "/item/get";
             
             logger.info("Getting item information for access token");
-            logger.debug("Item request: {}", gsonUtility.toPrettyJson(request));
+            logger.debug("Item request: {}", gsonUtility.lazyJson(request));
             
             HttpEntity<String> entity = new HttpEntity<>(gsonUtility.toJson(request), createHeaders());
             
@@ -147,6 +166,8 @@ public class PlaidRestUtility {
                 logger.error("Failed to get item information. Status: {}, Body: {}", response.getStatusCode(), response.getBody());
                 throw new RuntimeException("Failed to get item information");
             }
+        } catch (HttpStatusCodeException e) {
+            throw toPlaidApiException("Failed to get item information", e);
         } catch (Exception e) {
             logger.error("Exception while getting item information", e);
             throw new RuntimeException("Failed to get item information: " + e.getMessage(), e);
@@ -161,7 +182,7 @@ public class PlaidRestUtility {
             String url = getBaseUrl() + "/institutions/get_by_id";
             
             logger.info("Getting institution information for ID: {}", request.getInstitutionId());
-            logger.debug("Institution request: {}", gsonUtility.toPrettyJson(request));
+            logger.debug("Institution request: {}", gsonUtility.lazyJson(request));
             
             HttpEntity<String> entity = new HttpEntity<>(gsonUtility.toJson(request), createHeaders());
             
@@ -180,6 +201,8 @@ public class PlaidRestUtility {
                 logger.error("Failed to get institution information. Status: {}, Body: {}", response.getStatusCode(), response.getBody());
                 throw new RuntimeException("Failed to get institution information");
             }
+        } catch (HttpStatusCodeException e) {
+            throw toPlaidApiException("Failed to get institution information", e);
         } catch (Exception e) {
             logger.error("Exception while getting institution information", e);
             throw new RuntimeException("Failed to get institution information: " + e.getMessage(), e);
@@ -193,8 +216,8 @@ public class PlaidRestUtility {
         try {
             String url = getBaseUrl() + "/accounts/get";
             
-            logger.info("Getting accounts for access token");
-            logger.debug("Accounts request: {}", gsonUtility.toPrettyJson(request));
+            logger.debug("Getting accounts for access token");
+            logger.debug("Accounts request: {}", gsonUtility.lazyJson(request));
             
             HttpEntity<String> entity = new HttpEntity<>(gsonUtility.toJson(request), createHeaders());
             
@@ -207,12 +230,14 @@ public class PlaidRestUtility {
             
             if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
                 PlaidAccountsResponse accountsResponse = gsonUtility.fromJson(response.getBody(), PlaidAccountsResponse.class);
-                logger.info("Successfully retrieved {} accounts", accountsResponse.getAccounts() != null ? accountsResponse.getAccounts().size() : 0);
+                logger.debug("Successfully retrieved {} accounts", accountsResponse.getAccounts() != null ? accountsResponse.getAccounts().size() : 0);
                 return accountsResponse;
             } else {
                 logger.error("Failed to get accounts. Status: {}, Body: {}", response.getStatusCode(), response.getBody());
                 throw new RuntimeException("Failed to get accounts");
             }
+        } catch (HttpStatusCodeException e) {
+            throw toPlaidApiException("Failed to get accounts", e);
         } catch (Exception e) {
             logger.error("Exception while getting accounts", e);
             throw new RuntimeException("Failed to get accounts: " + e.getMessage(), e);
@@ -226,8 +251,8 @@ public class PlaidRestUtility {
         try {
             String url = getBaseUrl() + "/transactions/sync";
             
-            logger.info("Syncing transactions for access token");
-            logger.debug("Transaction sync request: {}", gsonUtility.toPrettyJson(request));
+            logger.debug("Syncing transactions for access token");
+            logger.debug("Transaction sync request: {}", gsonUtility.lazyJson(request));
             
             HttpEntity<String> entity = new HttpEntity<>(gsonUtility.toJson(request), createHeaders());
             
@@ -240,7 +265,7 @@ public class PlaidRestUtility {
             
             if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
                 TransactionSyncResponse syncResponse = gsonUtility.fromJson(response.getBody(), TransactionSyncResponse.class);
-                logger.info("Successfully synced transactions. Added: {}, Modified: {}, Removed: {}", 
+                logger.debug("Successfully synced transactions. Added: {}, Modified: {}, Removed: {}", 
                            syncResponse.getAdded() != null ? syncResponse.getAdded().size() : 0,
                            syncResponse.getModified() != null ? syncResponse.getModified().size() : 0,
                            syncResponse.getRemoved() != null ? syncResponse.getRemoved().size() : 0);
@@ -249,6 +274,8 @@ public class PlaidRestUtility {
                 logger.error("Failed to sync transactions. Status: {}, Body: {}", response.getStatusCode(), response.getBody());
                 throw new RuntimeException("Failed to sync transactions");
             }
+        } catch (HttpStatusCodeException e) {
+            throw toPlaidApiException("Failed to sync transactions", e);
         } catch (Exception e) {
             logger.error("Exception while syncing transactions", e);
             throw new RuntimeException("Failed to sync transactions: " + e.getMessage(), e);
@@ -0,0 +1,57 @@
+package com.mshrestha.goze.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset cursor for transaction listings ordered by (date desc, id desc).
+ * 
+ * The cursor holds the sort key of the last row a client received; the next page
+ * starts strictly after it. Clients must treat the encoded value as opaque.
+ */
+public class TransactionPageCursor {
+    
+    private final LocalDate date;
+    private final UUID id;
+    
+    public TransactionPageCursor(LocalDate date, UUID id) {
+        this.date = date;
+        this.id = id;
+    }
+    
+    public LocalDate getDate() {
+        return date;
+    }
+    
+    public UUID getId() {
+        return id;
+    }
+    
+    /**
+     * Encode the cursor as a URL-safe string
+     */
+    public String encode() {
+        String raw = date + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Decode a cursor previously produced by encode()
+     * 
+     * @throws IllegalArgumentException if the value is not a valid cursor
+     */
+    public static TransactionPageCursor decode(String encoded) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new TransactionPageCursor(
+                LocalDate.parse(raw.substring(0, separator)),
+                UUID.fromString(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid page cursor", e);
+        }
+    }
+}
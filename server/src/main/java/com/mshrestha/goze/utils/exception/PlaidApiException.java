@@ -0,0 +1,87 @@
+package com.mshrestha.goze.utils.exception;
+
+import java.util.Set;
+
+/**
+ * Error response returned by the Plaid API, carrying Plaid's error type and code.
+ */
+public class PlaidApiException extends RuntimeException {
+
+    /**
+     * Item error codes that cannot succeed on retry until the user goes through
+     * Plaid Link again (update mode or a new link).
+     */
+    private static final Set<String> USER_ACTION_REQUIRED_CODES = Set.of(
+        "ITEM_LOGIN_REQUIRED",
+        "ACCESS_NOT_GRANTED",
+        "USER_PERMISSION_REVOKED",
+        "INSUFFICIENT_CREDENTIALS",
+        "INVALID_CREDENTIALS",
+        "INVALID_MFA",
+        "INVALID_UPDATED_USERNAME",
+        "ITEM_LOCKED",
+        "ITEM_NOT_SUPPORTED",
+        "MFA_NOT_SUPPORTED",
+        "NO_ACCOUNTS",
+        "USER_SETUP_REQUIRED",
+        "ITEM_NOT_FOUND",
+        "INVALID_ACCESS_TOKEN",
+        "PRODUCTS_NOT_SUPPORTED",
+        "INSTITUTION_NOT_SUPPORTED"
+    );
+
+    /**
+     * Transactions changed while paging through /transactions/sync; pagination must restart
+     * from the cursor the loop began with
+     */
+    private static final String SYNC_MUTATION_DURING_PAGINATION = "TRANSACTIONS_SYNC_MUTATION_DURING_PAGINATION";
+
+    private final int httpStatus;
+    private final String errorType;
+    private final String errorCode;
+
+    public PlaidApiException(String message, int httpStatus, String errorType, String errorCode, Throwable cause) {
+        super(message, cause);
+        this.httpStatus = httpStatus;
+        this.errorType = errorType;
+        this.errorCode = errorCode;
+    }
+
+    public int getHttpStatus() {
+        return httpStatus;
+    }
+
+    public String getErrorType() {
+        return errorType;
+    }
+
+    public String getErrorCode() {
+        return errorCode;
+    }
+
+    /**
+     * Whether retrying is pointless until the user re-authenticates the item
+     */
+    public boolean requiresUserAction() {
+        return errorCode != null && USER_ACTION_REQUIRED_CODES.contains(errorCode);
+    }
+
+    /**
+     * Whether a /transactions/sync pagination loop has to start over from its first cursor
+     */
+    public boolean isSyncMutationDuringPagination() {
+        return SYNC_MUTATION_DURING_PAGINATION.equals(errorCode);
+    }
+
+    /**
+     * Find the Plaid error in an exception's cause chain, if there is one
+     */
+    public static PlaidApiException findIn(Throwable throwable) {
+        for (Throwable t = throwable; t != null; t = t.getCause()) {
+            if (t instanceof PlaidApiException plaidApiException) {
+                return plaidApiException;
+            }
+        }
+        return null;
+    }
+}
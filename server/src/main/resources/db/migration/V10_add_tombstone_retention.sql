@@ -0,0 +1,6 @@
+-- Tombstones older than the retention period are pruned. Each user keeps the highest change_seq
+-- pruned so far; clients holding an older change token are asked to reload instead of silently
+-- missing those removals.
+ALTER TABLE goze.users ADD COLUMN tombstones_pruned_through BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX idx_transaction_tombstones_deleted_at ON goze.transaction_tombstones (deleted_at);
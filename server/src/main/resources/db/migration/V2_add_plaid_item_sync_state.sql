@@ -0,0 +1,11 @@
+-- Per-item sync state used by the transaction sync sweep
+ALTER TABLE goze.plaid_items
+  ADD COLUMN last_sync_success_at TIMESTAMP WITH TIME ZONE,
+  ADD COLUMN last_sync_error_code VARCHAR(100),
+  ADD COLUMN consecutive_sync_failures INTEGER DEFAULT 0,
+  ADD COLUMN sync_backoff_until TIMESTAMP WITH TIME ZONE,
+  ADD COLUMN needs_user_action BOOLEAN DEFAULT false; -- set for Plaid errors that need the user to re-link the item
+
+-- Items the sweep can pick up: active and not parked
+CREATE INDEX idx_plaid_items_sync_due ON goze.plaid_items(sync_backoff_until)
+  WHERE is_active = true AND needs_user_action = false;
@@ -0,0 +1,3 @@
+-- When the scheduled balance refresh last updated an item's accounts
+ALTER TABLE goze.plaid_items
+  ADD COLUMN balances_refreshed_at TIMESTAMP WITH TIME ZONE;
@@ -0,0 +1,3 @@
+-- Keyset pagination over (date desc, id desc) per user; supersedes idx_transactions_user_date
+CREATE INDEX idx_transactions_user_date_id ON goze.transactions(user_id, date DESC, id DESC);
+DROP INDEX IF EXISTS goze.idx_transactions_user_date;
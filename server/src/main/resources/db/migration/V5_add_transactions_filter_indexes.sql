@@ -0,0 +1,4 @@
+-- Composite indexes for the filtered transactions query: equality on the filter column,
+-- then the (date desc, id desc) keyset order so date ranges and paging stay index scans
+CREATE INDEX idx_transactions_user_account_date ON goze.transactions(user_id, account_id, date DESC, id DESC);
+CREATE INDEX idx_transactions_user_category_date ON goze.transactions(user_id, plaid_category, date DESC, id DESC);
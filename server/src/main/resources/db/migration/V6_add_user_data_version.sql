@@ -0,0 +1,2 @@
+-- Per-user counter bumped whenever data shown on the dashboard changes; used to build ETags
+ALTER TABLE goze.users ADD COLUMN data_version BIGINT NOT NULL DEFAULT 0;
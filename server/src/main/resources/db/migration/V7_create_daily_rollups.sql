@@ -0,0 +1,22 @@
+-- Per-day spending totals per user, account, category and budget flag, maintained by sync ingest
+CREATE TABLE goze.daily_rollups (
+    user_id UUID NOT NULL,
+    account_id VARCHAR(255) NOT NULL,
+    category VARCHAR(255) NOT NULL,
+    day DATE NOT NULL,
+    excluded_from_budget BOOLEAN NOT NULL,
+    total_amount NUMERIC(19, 4) NOT NULL,
+    txn_count BIGINT NOT NULL,
+    expense_amount NUMERIC(19, 4) NOT NULL,
+    expense_count BIGINT NOT NULL,
+    PRIMARY KEY (user_id, day, account_id, category, excluded_from_budget)
+);
+
+-- Backfill from existing transactions
+INSERT INTO goze.daily_rollups
+    (user_id, account_id, category, day, excluded_from_budget, total_amount, txn_count, expense_amount, expense_count)
+SELECT user_id, account_id, COALESCE(plaid_category, ''), date, COALESCE(excluded_from_budget, FALSE),
+       SUM(amount), COUNT(*),
+       COALESCE(SUM(amount) FILTER (WHERE amount < 0), 0), COUNT(*) FILTER (WHERE amount < 0)
+FROM goze.transactions
+GROUP BY user_id, account_id, COALESCE(plaid_category, ''), date, COALESCE(excluded_from_budget, FALSE);
@@ -0,0 +1,45 @@
+-- Change tracking for the delta endpoint. Every insert, update and delete of a transaction is
+-- stamped with the owner's data version, which the writer bumps (holding the users row lock)
+-- before touching transactions. Versions therefore commit in order per user.
+ALTER TABLE goze.transactions ADD COLUMN change_seq BIGINT;
+
+UPDATE goze.transactions t SET change_seq = u.data_version
+FROM goze.users u WHERE u.id = t.user_id;
+
+CREATE INDEX idx_transactions_user_change_seq ON goze.transactions (user_id, change_seq);
+
+CREATE OR REPLACE FUNCTION goze.stamp_transaction_change_seq() RETURNS TRIGGER AS $$
+BEGIN
+    NEW.change_seq := (SELECT data_version FROM goze.users WHERE id = NEW.user_id);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_transactions_change_seq
+    BEFORE INSERT OR UPDATE ON goze.transactions
+    FOR EACH ROW EXECUTE FUNCTION goze.stamp_transaction_change_seq();
+
+-- Deleted transactions, so clients holding a change token can drop them
+CREATE TABLE goze.transaction_tombstones (
+    transaction_id UUID PRIMARY KEY,
+    user_id UUID NOT NULL,
+    plaid_transaction_id VARCHAR(255),
+    change_seq BIGINT NOT NULL,
+    deleted_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_transaction_tombstones_user_change_seq ON goze.transaction_tombstones (user_id, change_seq);
+
+CREATE OR REPLACE FUNCTION goze.record_transaction_tombstone() RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO goze.transaction_tombstones (transaction_id, user_id, plaid_transaction_id, change_seq, deleted_at)
+    VALUES (OLD.id, OLD.user_id, OLD.plaid_transaction_id,
+            (SELECT data_version FROM goze.users WHERE id = OLD.user_id), NOW())
+    ON CONFLICT (transaction_id) DO NOTHING;
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_transactions_tombstone
+    AFTER DELETE ON goze.transactions
+    FOR EACH ROW EXECUTE FUNCTION goze.record_transaction_tombstone();
@@ -0,0 +1,7 @@
+-- Trigram indexes for transaction search. They serve substring LIKE and fuzzy word-similarity
+-- matches on the lower-cased text, so search cost tracks the matches rather than table size.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_transactions_merchant_name_trgm ON goze.transactions USING gin (lower(merchant_name) gin_trgm_ops);
+CREATE INDEX idx_transactions_name_trgm ON goze.transactions USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX idx_transactions_notes_trgm ON goze.transactions USING gin (lower(notes) gin_trgm_ops);
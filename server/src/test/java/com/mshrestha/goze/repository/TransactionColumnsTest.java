@@ -0,0 +1,271 @@
+package com.mshrestha.goze.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the columnar transaction snapshot: dictionary encoding, filter compilation,
+ * aggregation and top-N selection.
+ */
+public class TransactionColumnsTest {
+
+    private static final int DAY = (int) LocalDate.of(2026, 3, 10).toEpochDay();
+
+    /**
+     * Six rows over three days, two accounts, one pending and one budget-excluded row,
+     * and one row without a category
+     */
+    private static TransactionColumns sample() {
+        TransactionColumns.Builder builder = new TransactionColumns.Builder();
+        builder.add(-1250, DAY, false, false, "FOOD", "Zed Cafe", "acc-b");
+        builder.add(-4000, DAY, false, false, "TRAVEL", "Airline", "acc-a");
+        builder.add(250000, DAY + 1, false, false, "INCOME", "Employer", "acc-a");
+        builder.add(-800, DAY + 1, true, false, "FOOD", "Zed Cafe", "acc-a");
+        builder.add(-3000, DAY + 2, false, true, null, "Bank", "acc-b");
+        builder.add(-50, DAY + 2, false, false, "FOOD", "Bakery", "acc-b");
+        return builder.build();
+    }
+
+    private static long[] totalsBy(TransactionColumns columns, TransactionFilter filter, SpendingDimension dimension) {
+        int slots = columns.slots(dimension);
+        long[] totals = new long[slots];
+        columns.sumBy(columns.matcher(filter), dimension, totals, new int[slots]);
+        return totals;
+    }
+
+    @Nested
+    @DisplayName("Builder Tests")
+    class BuilderTests {
+
+        @Test
+        @DisplayName("Should sort dictionaries by name and remap codes to match")
+        void sortedDictionariesTest() {
+            TransactionColumns columns = sample();
+
+            assertTrue(columns.isComplete());
+            assertEquals(6, columns.size());
+            assertEquals(List.of("Airline", "Bakery", "Bank", "Employer", "Zed Cafe"),
+                List.of(columns.label(SpendingDimension.MERCHANT, 0), columns.label(SpendingDimension.MERCHANT, 1),
+                    columns.label(SpendingDimension.MERCHANT, 2), columns.label(SpendingDimension.MERCHANT, 3),
+                    columns.label(SpendingDimension.MERCHANT, 4)));
+
+            // Zed Cafe was seen first but sorts last; its rows must follow it to the new code
+            long[] totals = totalsBy(columns, null, SpendingDimension.MERCHANT);
+            assertEquals(-2050, totals[4]);
+            assertEquals(-4000, totals[0]);
+        }
+
+        @Test
+        @DisplayName("Should count a null category in the slot after the dictionary")
+        void nullCategorySlotTest() {
+            TransactionColumns columns = sample();
+
+            assertEquals(4, columns.slots(SpendingDimension.CATEGORY));
+            assertNull(columns.label(SpendingDimension.CATEGORY, 3));
+            assertEquals(-3000, totalsBy(columns, null, SpendingDimension.CATEGORY)[3]);
+        }
+
+        @Test
+        @DisplayName("Should build an empty, incomplete snapshot when a dictionary overflows")
+        void overflowTest() {
+            TransactionColumns.Builder builder = new TransactionColumns.Builder();
+            for (int i = 0; i <= TransactionColumns.MAX_DICTIONARY_SIZE; i++) {
+                builder.add(-100, DAY, false, false, "FOOD", "Merchant " + i, "acc-a");
+            }
+            TransactionColumns columns = builder.build();
+
+            assertFalse(columns.isComplete());
+            assertEquals(0, columns.size());
+        }
+
+        @Test
+        @DisplayName("Should stay complete at exactly the dictionary limit")
+        void dictionaryLimitTest() {
+            TransactionColumns.Builder builder = new TransactionColumns.Builder();
+            for (int i = 0; i < TransactionColumns.MAX_DICTIONARY_SIZE; i++) {
+                builder.add(-100, DAY, false, false, "FOOD", "Merchant " + i, "acc-a");
+            }
+            TransactionColumns columns = builder.build();
+
+            assertTrue(columns.isComplete());
+            assertEquals(TransactionColumns.MAX_DICTIONARY_SIZE, columns.size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Matcher Tests")
+    class MatcherTests {
+
+        @Test
+        @DisplayName("Should treat date bounds as inclusive")
+        void dateBoundsTest() {
+            TransactionColumns columns = sample();
+            TransactionFilter filter = new TransactionFilter();
+            filter.setStartDate(LocalDate.ofEpochDay(DAY + 1));
+            filter.setEndDate(LocalDate.ofEpochDay(DAY + 2));
+
+            int[] rows = new int[6];
+            assertEquals(4, columns.select(columns.matcher(filter), rows));
+        }
+
+        @Test
+        @DisplayName("Should round amount bounds inward to whole cents")
+        void amountBoundsTest() {
+            TransactionColumns columns = sample();
+            TransactionFilter filter = new TransactionFilter();
+            filter.setMinAmount(new BigDecimal("-39.995"));    // rounds up to -3999 cents, so -40.00 is out
+            filter.setMaxAmount(new BigDecimal("-0.50"));
+
+            assertEquals(-1250 - 800 - 3000 - 50, columns.sumCents(columns.matcher(filter)));
+        }
+
+        @Test
+        @DisplayName("Should keep only negative amounts for expenses")
+        void expensesOnlyTest() {
+            TransactionColumns columns = sample();
+            TransactionFilter filter = new TransactionFilter();
+            filter.setExpensesOnly(true);
+
+            assertEquals(-1250 - 4000 - 800 - 3000 - 50, columns.sumCents(columns.matcher(filter)));
+        }
+
+        @Test
+        @DisplayName("Should match pending and budget flags independently")
+        void flagsTest() {
+            TransactionColumns columns = sample();
+
+            TransactionFilter pending = new TransactionFilter();
+            pending.setPending(true);
+            assertEquals(-800, columns.sumCents(columns.matcher(pending)));
+
+            TransactionFilter budgeted = new TransactionFilter();
+            budgeted.setExcludedFromBudget(false);
+            budgeted.setPending(false);
+            assertEquals(-1250 - 4000 + 250000 - 50, columns.sumCents(columns.matcher(budgeted)));
+        }
+
+        @Test
+        @DisplayName("Should match accounts and categories by name and ignore unknown names")
+        void masksTest() {
+            TransactionColumns columns = sample();
+            TransactionFilter filter = new TransactionFilter();
+            filter.setAccountIds(List.of("acc-b", "acc-unknown"));
+            filter.setCategories(List.of("FOOD"));
+
+            assertEquals(-1250 - 50, columns.sumCents(columns.matcher(filter)));
+        }
+
+        @Test
+        @DisplayName("Should match nothing when every filtered name is unknown")
+        void unknownNamesTest() {
+            TransactionColumns columns = sample();
+            TransactionFilter filter = new TransactionFilter();
+            filter.setCategories(List.of("UNKNOWN"));
+
+            assertEquals(0, columns.select(columns.matcher(filter), new int[6]));
+        }
+
+        @Test
+        @DisplayName("Should reject change-sequence bounds")
+        void changeBoundsTest() {
+            TransactionFilter filter = new TransactionFilter();
+            filter.setChangedAfter(1L);
+
+            assertFalse(TransactionColumns.supports(filter));
+            assertThrows(IllegalArgumentException.class, () -> sample().matcher(filter));
+        }
+    }
+
+    @Nested
+    @DisplayName("Aggregation Tests")
+    class AggregationTests {
+
+        @Test
+        @DisplayName("Should overwrite previous totals when summing again")
+        void sumByOverwritesTest() {
+            TransactionColumns columns = sample();
+            int slots = columns.slots(SpendingDimension.ACCOUNT);
+            long[] totals = new long[slots];
+            int[] counts = new int[slots];
+            columns.sumBy(columns.matcher(null), SpendingDimension.ACCOUNT, totals, counts);
+            columns.sumBy(columns.matcher(null), SpendingDimension.ACCOUNT, totals, counts);
+
+            assertArrayEquals(new long[]{-4000 + 250000 - 800, -1250 - 3000 - 50, 0}, totals);
+            assertArrayEquals(new int[]{3, 3, 0}, counts);
+        }
+
+        @Test
+        @DisplayName("Should convert a slot to an aggregate in currency units")
+        void toAggregateTest() {
+            TransactionColumns columns = sample();
+            int slots = columns.slots(SpendingDimension.CATEGORY);
+            long[] totals = new long[slots];
+            int[] counts = new int[slots];
+            columns.sumBy(columns.matcher(null), SpendingDimension.CATEGORY, totals, counts);
+
+            SpendingAggregate food = columns.toAggregate(SpendingDimension.CATEGORY, 0, totals, counts);
+            assertEquals("FOOD", food.category());
+            assertNull(food.merchant());
+            assertEquals(new BigDecimal("-21.00"), food.total());
+            assertEquals(3, food.count());
+        }
+
+        @Test
+        @DisplayName("Should refuse to group by a time dimension")
+        void timeDimensionTest() {
+            assertFalse(TransactionColumns.supports(SpendingDimension.MONTH));
+            assertThrows(IllegalArgumentException.class, () -> sample().slots(SpendingDimension.DAY));
+        }
+    }
+
+    @Nested
+    @DisplayName("Top-N Tests")
+    class TopNTests {
+
+        @Test
+        @DisplayName("Should order by absolute total and skip empty slots")
+        void orderTest() {
+            long[] totals = {-500, 0, 9000, -12000, 300};
+            int[] counts = {1, 0, 2, 4, 1};
+            int[] top = new int[3];
+
+            assertEquals(3, TransactionColumns.topN(totals, counts, 3, top));
+            assertArrayEquals(new int[]{3, 2, 0}, top);
+        }
+
+        @Test
+        @DisplayName("Should keep slot order between equal totals")
+        void tiesTest() {
+            long[] totals = {-100, 100, -100, 50};
+            int[] counts = {1, 1, 1, 1};
+            int[] top = new int[2];
+
+            assertEquals(2, TransactionColumns.topN(totals, counts, 2, top));
+            assertArrayEquals(new int[]{0, 1}, top);
+        }
+
+        @Test
+        @DisplayName("Should return fewer slots than asked when fewer are non-empty")
+        void fewerThanNTest() {
+            long[] totals = {0, -700, 0};
+            int[] counts = {0, 2, 0};
+            int[] top = new int[5];
+
+            assertEquals(1, TransactionColumns.topN(totals, counts, 5, top));
+            assertEquals(1, top[0]);
+        }
+
+        @Test
+        @DisplayName("Should return nothing for a non-positive n")
+        void zeroNTest() {
+            assertEquals(0, TransactionColumns.topN(new long[]{1}, new int[]{1}, 0, new int[0]));
+        }
+    }
+}